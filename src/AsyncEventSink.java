@@ -0,0 +1,148 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Title: AsyncEventSink.java
+ * Abstract: Event sink that hands events to a background thread, which formats them
+ *           and writes them out in batches. Callers only pay for queueing the event;
+ *           messages are built and written off the calling thread, with one flush per batch.
+ *           When the queue is full callers wait, so a slow writer can't use up the heap.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/BlockingQueue.html
+ */
+
+public class AsyncEventSink implements EventSink, Closeable {
+
+  public static final int DEFAULT_CAPACITY = 8192;
+  public static final int BATCH_SIZE = 512;
+
+  private static final Entry END = new Entry(null, null, null);
+
+  private final BlockingQueue<Entry> queue;
+  private final Writer out;
+  private final Thread writer;
+  private volatile boolean closed;
+  private volatile IOException error;
+
+  public AsyncEventSink(Writer out) {
+    this(out, DEFAULT_CAPACITY);
+  }
+
+  public AsyncEventSink(Writer out, int capacity) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.out = out;
+    this.writer = new Thread(this::drain, "library-events");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Queues an event to be written. Its message is built when it is written,
+   * from the state of its objects at that time.
+   *
+   * @param event what happened
+   * @param subject object the event is about
+   * @param detail additional object for the event or null
+   */
+  @Override
+  public void accept(LibraryEvent event, Object subject, Object detail) {
+    if (closed) {
+      return;
+    }
+    try {
+      queue.put(new Entry(event, subject, detail));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the IOException that stopped the writer, if any.
+   *
+   * @return the last IOException or null if none occurred
+   */
+  public IOException ioException() {
+    return error;
+  }
+
+  /**
+   * Writes every event queued so far and stops the writer thread.
+   * The underlying writer is flushed but left open.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      queue.put(END);
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void drain() {
+    List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+    StringBuilder text = new StringBuilder();
+    try {
+      while (true) {
+        batch.add(queue.take());
+        queue.drainTo(batch, BATCH_SIZE - 1);
+        for (Entry entry : batch) {
+          if (entry == END) {
+            write(text);
+            return;
+          }
+          text.append(entry.event.format(entry.subject, entry.detail)).append(System.lineSeparator());
+        }
+        batch.clear();
+        write(text);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      error = e;
+      closed = true;
+      discard();
+    }
+  }
+
+  /**
+   * Keeps taking events after a write error so callers never block on a full queue.
+   */
+  private void discard() {
+    try {
+      while (queue.take() != END) {
+        queue.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void write(StringBuilder text) throws IOException {
+    out.append(text);
+    out.flush();
+    text.setLength(0);
+  }
+
+  private static class Entry {
+    private final LibraryEvent event;
+    private final Object subject;
+    private final Object detail;
+
+    Entry(LibraryEvent event, Object subject, Object detail) {
+      this.event = event;
+      this.subject = subject;
+      this.detail = detail;
+    }
+  }
+}
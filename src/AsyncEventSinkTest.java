@@ -0,0 +1,46 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: AsyncEventSinkTest.java
+ * Abstract: Tests the AsyncEventSink class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class AsyncEventSinkTest {
+
+  @Test
+  void accept() {
+    StringWriter out = new StringWriter();
+    AsyncEventSink sink = new AsyncEventSink(out, 4);
+    Book book = new Book("42-w-87", "Hitchhikers Guide To the Galaxy", "sci-fi",
+        42, "Douglas Adams", LocalDate.of(1970, 1, 1));
+    for (int i = 0; i < 100; i++) {
+      sink.accept(LibraryEvent.TITLE_ADDED, book, null);
+    }
+    sink.accept(LibraryEvent.PARSING_BOOKS, 9, null);
+    sink.close();
+
+    String[] lines = out.toString().split(System.lineSeparator());
+    assertEquals(101, lines.length);
+    assertEquals("Hitchhikers Guide To the Galaxy added to the stacks.", lines[0]);
+    assertEquals("parsing 9 books", lines[100]);
+    assertNull(sink.ioException());
+  }
+
+  @Test
+  void close() {
+    StringWriter out = new StringWriter();
+    AsyncEventSink sink = new AsyncEventSink(out);
+    sink.close();
+    sink.close();
+    sink.accept(LibraryEvent.PARSING_BOOKS, 9, null); // ignored once closed
+    assertEquals("", out.toString());
+  }
+}
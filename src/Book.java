@@ -1,5 +1,4 @@
 import java.time.LocalDate;
-import java.util.Objects;
 
 /**
  * Title: Book.java
@@ -18,61 +17,99 @@ public class Book {
   public static final int AUTHOR_ = 4;
   public  static final  int DUE_DATE_ = 5;
 
-  private String isbn;
-  private String title;
-  private String subject;
-  private int pageCount;
-  private String author;
+  private CatalogKey key;
   private LocalDate dueDate;
+  private boolean catalogued; // held by a library, so its key may no longer change
 
   public Book(String isbn, String title, String subject,
               int pageCount, String author, LocalDate dueDate) {
-    this.isbn = isbn;
-    this.title = title;
-    this.subject = subject;
-    this.pageCount = pageCount;
-    this.author = author;
+    this(new CatalogKey(isbn, title, subject, pageCount, author), dueDate);
+  }
+
+  /**
+   * Constructs a copy of a catalogued title.
+   *
+   * @param key catalog identity of the title
+   * @param dueDate due date of this copy
+   */
+  public Book(CatalogKey key, LocalDate dueDate) {
+    this.key = key;
     this.dueDate = dueDate;
   }
 
+  /**
+   * Returns the book's catalog identity, which is what books are compared and hashed by.
+   *
+   * @return the book's immutable key
+   */
+  public CatalogKey getKey() {
+    return key;
+  }
+
+  /**
+   * Marks the book as held by a library. From then on the catalog setters throw, since
+   * the library's maps and indexes file the book under its key.
+   */
+  void catalogue() {
+    catalogued = true;
+  }
+
+  public boolean isCatalogued() {
+    return catalogued;
+  }
+
   public String getIsbn() {
-    return isbn;
+    return key.getIsbn();
   }
 
+  /**
+   * Changes the ISBN. Like the other catalog setters, it gives the book a new key and
+   * may only be used before the book is added to a library.
+   *
+   * @param isbn new ISBN
+   * @throws IllegalStateException if the book is held by a library
+   */
   public void setIsbn(String isbn) {
-    this.isbn = isbn;
+    rekey(new CatalogKey(isbn, getTitle(), getSubject(), getPageCount(), getAuthor()));
   }
 
   public String getTitle() {
-    return title;
+    return key.getTitle();
   }
 
   public void setTitle(String title) {
-    this.title = title;
+    rekey(new CatalogKey(getIsbn(), title, getSubject(), getPageCount(), getAuthor()));
   }
 
   public String getSubject() {
-    return subject;
+    return key.getSubject();
   }
 
   public void setSubject(String subject) {
-    this.subject = subject;
+    rekey(new CatalogKey(getIsbn(), getTitle(), subject, getPageCount(), getAuthor()));
   }
 
   public int getPageCount() {
-    return pageCount;
+    return key.getPageCount();
   }
 
   public void setPageCount(int pageCount) {
-    this.pageCount = pageCount;
+    rekey(new CatalogKey(getIsbn(), getTitle(), getSubject(), pageCount, getAuthor()));
   }
 
   public String getAuthor() {
-    return author;
+    return key.getAuthor();
   }
 
   public void setAuthor(String author) {
-    this.author = author;
+    rekey(new CatalogKey(getIsbn(), getTitle(), getSubject(), getPageCount(), author));
+  }
+
+  private void rekey(CatalogKey key) {
+    if (catalogued) {
+      throw new IllegalStateException(this + " is held by a library and can't be changed");
+    }
+    this.key = key;
   }
 
   public LocalDate getDueDate() {
@@ -88,15 +125,12 @@ public class Book {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     Book book = (Book) o;
-    return getPageCount() == book.getPageCount() && Objects.equals(getIsbn(),
-        book.getIsbn()) && Objects.equals(getTitle(),
-        book.getTitle()) && Objects.equals(getSubject(),
-        book.getSubject()) && Objects.equals(getAuthor(), book.getAuthor());
+    return key.equals(book.key);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(getIsbn(), getTitle(), getSubject(), getPageCount(), getAuthor());
+    return key.hashCode();
   }
 
   /**
@@ -106,6 +140,6 @@ public class Book {
    */
   @Override
   public String toString() {
-    return this.title + " by " + this.author + " ISBN: " + this.isbn;
+    return key.toString();
   }
 }
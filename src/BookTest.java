@@ -1,7 +1,11 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import org.junit.jupiter.api.AfterEach;
@@ -146,6 +150,48 @@ class BookTest {
     assertEquals(book1, book2);
   }
 
+  @Test
+  void dueDateIsNotIdentity() {
+    Book copy = new Book(isbn, title, subject, pageCount, author, LocalDate.of(1,1,1));
+    assertEquals(book, copy);
+    assertEquals(book.hashCode(), copy.hashCode());
+    assertEquals(book.getKey(), copy.getKey());
+  }
+
+  @Test
+  void settersRefuseCataloguedBook() {
+    Library library = new Library("setters");
+    library.setEventSink(EventSink.NO_OP);
+    library.addShelf(subject);
+    library.addShelf("Other");
+    Reader reader = new Reader(1, "Reader", "555-555-5555");
+    library.addReader(reader);
+    book.setTitle("New Title"); // not in a library yet
+    assertFalse(book.isCatalogued());
+    library.addBook(book);
+    library.addBook(book);
+    assertTrue(book.isCatalogued());
+    CatalogKey key = book.getKey();
+
+    assertThrows(IllegalStateException.class, () -> book.setIsbn("New isbn"));
+    assertThrows(IllegalStateException.class, () -> book.setTitle("Other Title"));
+    assertThrows(IllegalStateException.class, () -> book.setSubject("Other"));
+    assertThrows(IllegalStateException.class, () -> book.setPageCount(10));
+    assertThrows(IllegalStateException.class, () -> book.setAuthor("New Author"));
+    assertSame(key, book.getKey());
+    assertEquals("New Title", book.getTitle());
+    assertEquals(subject, book.getSubject());
+
+    assertSame(book, library.getBookByISBN(isbn));
+    Shelf shelf = library.getShelf(subject);
+    assertEquals(2, shelf.getBookCount(book));
+    assertEquals(Code.SUCCESS, library.checkOutBook(reader, book));
+    assertEquals(1, shelf.getBookCount(book));
+    assertEquals(Code.SUCCESS, library.returnBook(reader, book));
+    assertEquals(2, shelf.getBookCount(book));
+    assertTrue(library.getShelf("Other").getBooks().isEmpty());
+  }
+
   @Test
   void testToString() {
     assertEquals("Title by Author ISBN: isbn", book.toString());
@@ -0,0 +1,263 @@
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Title: CatalogGenerator.java
+ * Abstract: Writes synthetic library files in the layout Library.init reads:
+ *           the book count and one line per copy, the shelf count and one line per subject,
+ *           then the reader count and one line per reader with their loans.
+ *           Subjects are drawn from a Zipf distribution so a few subjects hold most titles,
+ *           loans never ask for more copies than a title has, and the same seed always
+ *           writes the same file. Lines are written as they are made, so files of any
+ *           size can be generated without holding them in memory.
+ *           Usage: java CatalogGenerator file titles [copies] [subjects] [skew] [readers]
+ *                  [loansPerReader] [seed]
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://en.wikipedia.org/wiki/Zipf%27s_law
+ */
+
+public class CatalogGenerator {
+
+  public static final LocalDate FIRST_DUE_DATE = LocalDate.of(2021, 1, 1);
+  public static final int DUE_DATE_RANGE = 730; // days after FIRST_DUE_DATE
+  public static final int BUFFER_SIZE = 1 << 16;
+
+  private static final int PROBES = 64; // titles tried before a loan is given up
+  private static final String PHONE_PADDING = "0000";
+
+  private final long seed;
+  private int titles;
+  private int copies;
+  private int subjects;
+  private double skew;
+  private int readers;
+  private double loansPerReader;
+
+  /**
+   * Constructs a generator for a small catalog with one copy per title,
+   * 100 evenly used subjects and one loan per reader.
+   *
+   * @param seed seed for every random choice
+   */
+  public CatalogGenerator(long seed) {
+    this.seed = seed;
+    this.titles = 1000;
+    this.copies = 1;
+    this.subjects = 100;
+    this.skew = 0;
+    this.readers = 100;
+    this.loansPerReader = 1;
+  }
+
+  public void setTitles(int titles) {
+    this.titles = titles;
+  }
+
+  public void setCopies(int copies) {
+    this.copies = copies;
+  }
+
+  public void setSubjects(int subjects) {
+    this.subjects = subjects;
+  }
+
+  /**
+   * Sets the Zipf exponent for subjects. 0 uses every subject evenly,
+   * 1 gives the k-th subject about 1/k as many titles as the first.
+   *
+   * @param skew Zipf exponent, 0 or more
+   */
+  public void setSkew(double skew) {
+    this.skew = skew;
+  }
+
+  public void setReaders(int readers) {
+    this.readers = readers;
+  }
+
+  /**
+   * Sets the average number of loans per reader. No reader gets more than
+   * the lending limit, and loans stop when no copies are left.
+   *
+   * @param loansPerReader average loans per reader
+   */
+  public void setLoansPerReader(double loansPerReader) {
+    this.loansPerReader = loansPerReader;
+  }
+
+  public int getBookCount() {
+    return titles * copies;
+  }
+
+  /**
+   * Writes the catalog to a file.
+   *
+   * @param filename file to be written
+   * @throws IOException if the file could not be written
+   */
+  public void write(String filename) throws IOException {
+    try (Writer out = new BufferedWriter(new FileWriter(filename), BUFFER_SIZE)) {
+      write(out);
+    }
+  }
+
+  /**
+   * Writes the catalog.
+   *
+   * @param out destination of the catalog, left open
+   * @throws IOException if the catalog could not be written
+   */
+  public void write(Writer out) throws IOException {
+    Random random = new Random(seed);
+    StringBuilder line = new StringBuilder(256);
+
+    // books, every copy on its own line
+    double[] cumulative = subjectWeights();
+    out.write(getBookCount() + "\n");
+    for (int i = 0; i < titles; i++) {
+      int subject = pickSubject(cumulative, random);
+      int pageCount = 100 + random.nextInt(900);
+      line.setLength(0);
+      line.append("isbn-").append(i).append(",Title ").append(i)
+          .append(",subject-").append(subject).append(',').append(pageCount)
+          .append(",Author ").append(i % Math.max(1, titles / 10)).append(",0000\n");
+      for (int c = 0; c < copies; c++) {
+        out.append(line);
+      }
+    }
+
+    // shelves
+    out.write(subjects + "\n");
+    for (int i = 0; i < subjects; i++) {
+      out.write((i + 1) + ",subject-" + i + "\n");
+    }
+
+    // readers and their loans
+    int[] lent = new int[titles];
+    int[] loans = new int[Library.LENDING_LIMIT];
+    out.write(readers + "\n");
+    for (int i = 0; i < readers; i++) {
+      int wanted = Math.min(Library.LENDING_LIMIT, loanCount(random));
+      int count = 0;
+      for (int j = 0; j < wanted && titles > 0; j++) {
+        int title = pickTitle(random.nextInt(titles), lent, loans, count);
+        if (title >= 0) {
+          lent[title]++;
+          loans[count++] = title;
+        }
+      }
+      String phone = Integer.toString(i % 10_000);
+      line.setLength(0);
+      line.append(i + 1).append(",Reader ").append(i).append(",555-555-")
+          .append(PHONE_PADDING, 0, PHONE_PADDING.length() - phone.length())
+          .append(phone).append(',').append(count);
+      for (int j = 0; j < count; j++) {
+        line.append(",isbn-").append(loans[j]).append(',')
+            .append(FIRST_DUE_DATE.plusDays(random.nextInt(DUE_DATE_RANGE)));
+      }
+      out.append(line.append('\n'));
+    }
+    out.flush();
+  }
+
+  /**
+   * Adds up the Zipf weight of every subject.
+   *
+   * @return the total weight of the first k + 1 subjects at index k
+   */
+  private double[] subjectWeights() {
+    double[] cumulative = new double[Math.max(1, subjects)];
+    double total = 0;
+    for (int k = 0; k < cumulative.length; k++) {
+      total += 1 / Math.pow(k + 1, skew);
+      cumulative[k] = total;
+    }
+    return cumulative;
+  }
+
+  private static int pickSubject(double[] cumulative, Random random) {
+    double target = random.nextDouble() * cumulative[cumulative.length - 1];
+    int low = 0;
+    int high = cumulative.length - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (cumulative[middle] <= target) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Draws how many loans a reader has, averaging loansPerReader.
+   *
+   * @param random source of random numbers
+   * @return number of loans
+   */
+  private int loanCount(Random random) {
+    int whole = (int) loansPerReader;
+    return whole + (random.nextDouble() < loansPerReader - whole ? 1 : 0);
+  }
+
+  /**
+   * Finds a title, starting at the given one, that has a copy left
+   * and that the reader doesn't already have.
+   *
+   * @param title first title to try
+   * @param lent copies of each title already lent
+   * @param loans titles the reader already has
+   * @param count number of titles the reader already has
+   * @return the title or -1 if none was found
+   */
+  private int pickTitle(int title, int[] lent, int[] loans, int count) {
+    for (int probe = 0; probe < PROBES && probe < titles; probe++) {
+      int candidate = (title + probe) % titles;
+      if (lent[candidate] < copies && !contains(loans, count, candidate)) {
+        return candidate;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean contains(int[] values, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      if (values[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.out.println("Usage: java CatalogGenerator file titles [copies] [subjects] [skew]"
+          + " [readers] [loansPerReader] [seed]");
+      return;
+    }
+    CatalogGenerator generator = new CatalogGenerator(args.length > 7 ? Long.parseLong(args[7]) : 0);
+    generator.setTitles(Integer.parseInt(args[1]));
+    if (args.length > 2) {
+      generator.setCopies(Integer.parseInt(args[2]));
+    }
+    if (args.length > 3) {
+      generator.setSubjects(Integer.parseInt(args[3]));
+    }
+    if (args.length > 4) {
+      generator.setSkew(Double.parseDouble(args[4]));
+    }
+    if (args.length > 5) {
+      generator.setReaders(Integer.parseInt(args[5]));
+    }
+    if (args.length > 6) {
+      generator.setLoansPerReader(Double.parseDouble(args[6]));
+    }
+    generator.write(args[0]);
+  }
+}
@@ -0,0 +1,92 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: CatalogGeneratorTest.java
+ * Abstract: Tests the CatalogGenerator class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class CatalogGeneratorTest {
+
+  static final int TITLES = 2000;
+  static final int COPIES = 3;
+  static final int SUBJECTS = 20;
+  static final int READERS = 300;
+
+  CatalogGenerator generator;
+
+  @BeforeEach
+  void setUp() {
+    generator = newGenerator(7);
+  }
+
+  @AfterEach
+  void tearDown() {
+    generator = null;
+  }
+
+  static CatalogGenerator newGenerator(long seed) {
+    CatalogGenerator generator = new CatalogGenerator(seed);
+    generator.setTitles(TITLES);
+    generator.setCopies(COPIES);
+    generator.setSubjects(SUBJECTS);
+    generator.setSkew(1.2);
+    generator.setReaders(READERS);
+    generator.setLoansPerReader(2.5);
+    return generator;
+  }
+
+  @Test
+  void write() throws IOException {
+    StringWriter first = new StringWriter();
+    StringWriter second = new StringWriter();
+    StringWriter other = new StringWriter();
+    generator.write(first);
+    newGenerator(7).write(second);
+    newGenerator(8).write(other);
+    assertEquals(first.toString(), second.toString());
+    assertNotEquals(first.toString(), other.toString());
+    assertTrue(first.toString().startsWith(TITLES * COPIES + "\n"));
+  }
+
+  @Test
+  void init() throws IOException {
+    File file = File.createTempFile("catalogGenerator", ".csv");
+    file.deleteOnExit();
+    generator.write(file.getPath());
+
+    Library library = InitBenchmark.quietLibrary();
+    assertEquals(Code.SUCCESS, library.init(file.getPath()));
+
+    // every copy is on a shelf or lent
+    int onShelves = 0;
+    for (int i = 1; i <= SUBJECTS; i++) {
+      for (int copies : library.getShelf(i).getBooks().values()) {
+        onShelves += copies;
+      }
+    }
+    int lent = 0;
+    for (int i = 1; i <= READERS; i++) {
+      int loans = library.getReaderByCard(i).getBookCount();
+      assertTrue(loans <= Library.LENDING_LIMIT);
+      lent += loans;
+    }
+    assertEquals(generator.getBookCount(), onShelves + lent);
+    assertTrue(lent > READERS * 2);
+
+    // the first subject has many more titles than the last
+    assertTrue(library.getShelf(1).getBooks().size()
+        > 4 * library.getShelf(SUBJECTS).getBooks().size());
+  }
+}
@@ -0,0 +1,83 @@
+import java.util.Objects;
+
+/**
+ * Title: CatalogKey.java
+ * Abstract: The catalog identity of a title: ISBN, title, subject, page count and author.
+ *           Keys never change once made and work out their hash once, so maps keyed by
+ *           them never need to rehash a key and can't be corrupted by a later change to a
+ *           Book. Two keys are compared by hash and ISBN before anything else, so keys of
+ *           different titles are told apart without comparing every field. Things that
+ *           differ from copy to copy, like a due date, belong to the Book, not its key.
+ *           The hash is the value Objects.hash gives for the five fields, so maps keyed by
+ *           CatalogKey keep the order maps keyed by Book had.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Effective Java 3rd edition, Item 17: Minimize mutability
+ *             https://docs.oracle.com/javase/8/docs/api/java/util/Objects.html#hash-java.lang.Object...-
+ */
+
+public final class CatalogKey {
+
+  private final String isbn;
+  private final String title;
+  private final String subject;
+  private final int pageCount;
+  private final String author;
+  private final int hash;
+
+  public CatalogKey(String isbn, String title, String subject, int pageCount, String author) {
+    this.isbn = isbn;
+    this.title = title;
+    this.subject = subject;
+    this.pageCount = pageCount;
+    this.author = author;
+    // Objects.hash(isbn, title, subject, pageCount, author) without boxing or an array
+    int h = 1;
+    h = 31 * h + Objects.hashCode(isbn);
+    h = 31 * h + Objects.hashCode(title);
+    h = 31 * h + Objects.hashCode(subject);
+    h = 31 * h + pageCount;
+    h = 31 * h + Objects.hashCode(author);
+    this.hash = h;
+  }
+
+  public String getIsbn() {
+    return isbn;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getSubject() {
+    return subject;
+  }
+
+  public int getPageCount() {
+    return pageCount;
+  }
+
+  public String getAuthor() {
+    return author;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof CatalogKey)) return false;
+    CatalogKey key = (CatalogKey) o;
+    return hash == key.hash && pageCount == key.pageCount && Objects.equals(isbn, key.isbn)
+        && Objects.equals(title, key.title) && Objects.equals(subject, key.subject)
+        && Objects.equals(author, key.author);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return this.title + " by " + this.author + " ISBN: " + this.isbn;
+  }
+}
@@ -0,0 +1,41 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: CatalogKeyTest.java
+ * Abstract: Tests the CatalogKey class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class CatalogKeyTest {
+
+  @Test
+  void hashCodeMatchesObjectsHash() {
+    CatalogKey key = new CatalogKey("1337", "Headfirst Java", "education", 1337, "Grady Booch");
+    assertEquals(Objects.hash("1337", "Headfirst Java", "education", 1337, "Grady Booch"),
+        key.hashCode());
+    CatalogKey empty = new CatalogKey(null, null, null, 0, null);
+    assertEquals(Objects.hash(null, null, null, 0, null), empty.hashCode());
+  }
+
+  @Test
+  void testEquals() {
+    CatalogKey key = new CatalogKey("1337", "Headfirst Java", "education", 1337, "Grady Booch");
+    assertEquals(key, new CatalogKey("1337", "Headfirst Java", "education", 1337, "Grady Booch"));
+    assertNotEquals(key, new CatalogKey("1338", "Headfirst Java", "education", 1337, "Grady Booch"));
+    assertNotEquals(key, new CatalogKey("1337", "Headfirst Java", "education", 1336, "Grady Booch"));
+    assertNotEquals(key, new CatalogKey("1337", "Headfirst Java", "education", 1337, "Grady"));
+    assertNotEquals(key, null);
+  }
+
+  @Test
+  void testToString() {
+    CatalogKey key = new CatalogKey("1337", "Headfirst Java", "education", 1337, "Grady Booch");
+    assertEquals("Headfirst Java by Grady Booch ISBN: 1337", key.toString());
+  }
+}
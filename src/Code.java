@@ -27,6 +27,13 @@ public enum Code {
     PAGE_COUNT_ERROR(-8,"Page count error"),
     DUE_DATE_ERROR(-10,"Due date error"),
     DATE_CONVERSION_ERROR(-101, "Date conversion Error"),
+    SNAPSHOT_ERROR(-12, "Snapshot could not be written"),
+    SNAPSHOT_FORMAT_ERROR(-121, "Not a complete snapshot"),
+    SNAPSHOT_VERSION_ERROR(-122, "Snapshot version not supported"),
+    SNAPSHOT_CHECKSUM_ERROR(-123, "Snapshot checksum mismatch"),
+    EXPORT_ERROR(-13, "Library could not be exported"),
+    LIST_ERROR(-14, "Listing could not be written"),
+    METRICS_ERROR(-15, "Metrics could not be registered"),
     NOT_IMPLEMENTED_ERROR(-99,"Not yet implemented error"),
     UNKNOWN_ERROR(-999, "Unknown Error");
 
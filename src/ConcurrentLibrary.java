@@ -0,0 +1,463 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Title: ConcurrentLibrary.java
+ * Abstract: Library that can be used by many front desk threads at once.
+ *           Instead of one lock for the whole library, every subject has its own lock,
+ *           which guards the subject's shelf and stock, and every reader is locked on
+ *           their own while their loans change. Locks are always taken reader first,
+ *           then subject, then the registry lock or the shelf numbering lock, never
+ *           both, so threads never deadlock, and checkouts for different readers and
+ *           subjects never wait on each other.
+ *           Lookups go through concurrent maps and take no lock at all. Shelves added by
+ *           subject are ConcurrentShelf objects, so checkouts and returns on them only
+ *           lock the reader; shelves added as plain Shelf objects still use the subject lock.
+ *           init and initParallel should finish before other threads use the library.
+ *           The same goes for loadSnapshot and recover, and saveSnapshot and exportCsv
+ *           also need the library idle: all four walk the shelves and readers without
+ *           the subject and reader locks, so no other thread may use the library meanwhile.
+ *           With a journal attached, every change takes its subject lock so the journal
+ *           holds the changes to a subject in the order they were made, and commits wait
+ *           for the journal only after the locks are released, so threads waiting on the
+ *           same fsync don't hold each other up.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/ConcurrentHashMap.html
+ *             Java Concurrency in Practice, 11.4.3 Lock striping
+ */
+
+public class ConcurrentLibrary extends Library {
+
+  private final Map<String, Object> subjectLocks;
+  private final Map<Integer, Reader> cards;   // readers by card number, readable without a lock
+  private final Object registryLock;          // guards registering and removing readers
+  private final Object shelfNumberLock;       // guards shelf numbering
+  private final ThreadLocal<Commits> commits; // journal records waiting for the locks to go
+
+  /**
+   * Constructs a library with given name that can be shared between threads.
+   *
+   * @param name name of the library to be constructed
+   */
+  public ConcurrentLibrary(String name) {
+    super(name, true);
+    this.subjectLocks = new ConcurrentHashMap<>();
+    this.cards = new ConcurrentHashMap<>();
+    this.registryLock = new Object();
+    this.shelfNumberLock = new Object();
+    this.commits = ThreadLocal.withInitial(Commits::new);
+  }
+
+  @Override
+  public Code addBook(Book newBook) {
+    Commits deferred = deferCommits();
+    try {
+      synchronized (subjectLock(newBook.getSubject())) {
+        return super.addBook(newBook);
+      }
+    } finally {
+      commitDeferred(deferred);
+    }
+  }
+
+  @Override
+  public Code returnBook(Reader reader, Book book) {
+    Commits deferred = deferCommits();
+    try {
+      synchronized (reader) {
+        if (isLockFree(book)) {
+          return super.returnBook(reader, book);
+        }
+        synchronized (subjectLock(book.getSubject())) {
+          return super.returnBook(reader, book);
+        }
+      }
+    } finally {
+      commitDeferred(deferred);
+    }
+  }
+
+  @Override
+  public Code returnBook(Book book) {
+    Commits deferred = deferCommits();
+    try {
+      if (isLockFree(book)) {
+        return super.returnBook(book);
+      }
+      synchronized (subjectLock(book.getSubject())) {
+        return super.returnBook(book);
+      }
+    } finally {
+      commitDeferred(deferred);
+    }
+  }
+
+  @Override
+  public Code checkOutBook(Reader reader, Book book, LocalDate dueDate) {
+    Commits deferred = deferCommits();
+    try {
+      synchronized (reader) {
+        if (isLockFree(book)) {
+          return super.checkOutBook(reader, book, dueDate);
+        }
+        synchronized (subjectLock(book.getSubject())) {
+          return super.checkOutBook(reader, book, dueDate);
+        }
+      }
+    } finally {
+      commitDeferred(deferred);
+    }
+  }
+
+  /**
+   * Checks out several books holding the reader's lock, and the lock of each subject
+   * whose shelf needs one, once for the whole batch.
+   *
+   * @param reader reader checking out the books
+   * @param batch books to be checked out
+   * @return success or appropriate error code for each book, in the order of batch
+   */
+  @Override
+  public List<Code> checkOutBooks(Reader reader, Collection<Book> batch) {
+    Commits deferred = deferCommits();
+    try {
+      synchronized (reader) {
+        return withSubjectLocks(lockedSubjects(batch).iterator(),
+            () -> super.checkOutBooks(reader, batch));
+      }
+    } finally {
+      commitDeferred(deferred);
+    }
+  }
+
+  /**
+   * Returns several books holding the reader's lock, and the lock of each subject
+   * whose shelf needs one, once for the whole batch.
+   *
+   * @param reader reader returning the books
+   * @param batch books to be returned
+   * @return success or appropriate error code for each book, in the order of batch
+   */
+  @Override
+  public List<Code> returnBooks(Reader reader, Collection<Book> batch) {
+    Commits deferred = deferCommits();
+    try {
+      synchronized (reader) {
+        return withSubjectLocks(lockedSubjects(batch).iterator(),
+            () -> super.returnBooks(reader, batch));
+      }
+    } finally {
+      commitDeferred(deferred);
+    }
+  }
+
+  /**
+   * Creates shelves whose copy counts are changed without a lock.
+   *
+   * @return a new ConcurrentShelf
+   */
+  @Override
+  protected Shelf newShelf() {
+    return new ConcurrentShelf();
+  }
+
+  @Override
+  public Code addShelf(String shelfSubject) {
+    Commits deferred = deferCommits();
+    try {
+      synchronized (subjectLock(shelfSubject)) {
+        return super.addShelf(shelfSubject);
+      }
+    } finally {
+      commitDeferred(deferred);
+    }
+  }
+
+  @Override
+  public Code addShelf(Shelf shelf) {
+    Commits deferred = deferCommits();
+    try {
+      synchronized (subjectLock(shelf.getSubject())) {
+        synchronized (shelfNumberLock) {
+          return super.addShelf(shelf);
+        }
+      }
+    } finally {
+      commitDeferred(deferred);
+    }
+  }
+
+  @Override
+  public Shelf getShelf(Integer shelfNumber) {
+    synchronized (shelfNumberLock) {
+      return super.getShelf(shelfNumber);
+    }
+  }
+
+  @Override
+  public Reader getReaderByCard(int cardNumber) {
+    long start = startTiming();
+    Reader reader = cards.get(cardNumber);
+    if (reader != null) {
+      measure(LibraryMetrics.Operation.GET_READER_BY_CARD, start, Code.SUCCESS);
+      return reader;
+    }
+    synchronized (registryLock) {
+      return super.getReaderByCard(cardNumber); // reports the missing card
+    }
+  }
+
+  @Override
+  public Code addReader(Reader reader) {
+    Commits deferred = deferCommits();
+    try {
+      synchronized (reader) {
+        synchronized (registryLock) {
+          Code code = super.addReader(reader);
+          if (code == Code.SUCCESS) {
+            cards.put(reader.getCardNumber(), reader);
+          }
+          return code;
+        }
+      }
+    } finally {
+      commitDeferred(deferred);
+    }
+  }
+
+  @Override
+  public Code removeReader(Reader reader) {
+    Commits deferred = deferCommits();
+    try {
+      synchronized (reader) {
+        synchronized (registryLock) {
+          Code code = super.removeReader(reader);
+          if (code == Code.SUCCESS) {
+            cards.remove(reader.getCardNumber());
+          }
+          return code;
+        }
+      }
+    } finally {
+      commitDeferred(deferred);
+    }
+  }
+
+  /**
+   * Restores a snapshot and registers its readers for lookups without a lock.
+   * Like init, this should finish before other threads use the library.
+   *
+   * @param snapshot snapshot to be restored
+   */
+  @Override
+  protected void restore(LibrarySnapshot snapshot) {
+    synchronized (registryLock) {
+      super.restore(snapshot);
+      cards.clear();
+      for (Reader reader : snapshot.getReaders()) {
+        cards.put(reader.getCardNumber(), reader);
+      }
+    }
+  }
+
+  @Override
+  protected boolean isRegistered(Reader reader) {
+    return reader.equals(cards.get(reader.getCardNumber()));
+  }
+
+  /**
+   * Copies the readers holding the registry lock, so listReaders describes each reader
+   * after letting it go: describing locks the reader, and adding or removing a reader
+   * locks the reader before the registry.
+   *
+   * @return the readers on record when called
+   */
+  @Override
+  protected Iterable<Reader> registeredReaders() {
+    synchronized (registryLock) {
+      List<Reader> copy = new ArrayList<>();
+      for (Reader reader : super.registeredReaders()) {
+        copy.add(reader);
+      }
+      return copy;
+    }
+  }
+
+  @Override
+  protected String describe(Shelf shelf, boolean showBooks) {
+    synchronized (subjectLock(shelf.getSubject())) {
+      return super.describe(shelf, showBooks);
+    }
+  }
+
+  @Override
+  protected void describe(Shelf shelf, boolean showBooks, Appendable out) throws IOException {
+    synchronized (subjectLock(shelf.getSubject())) {
+      super.describe(shelf, showBooks, out);
+    }
+  }
+
+  @Override
+  protected int fetchShelves(long after, int max, List<Shelf> out, long[] tokens) {
+    synchronized (shelfNumberLock) {
+      return super.fetchShelves(after, max, out, tokens);
+    }
+  }
+
+  @Override
+  protected int fetchReaders(long after, int max, List<Reader> out, long[] tokens) {
+    synchronized (registryLock) {
+      return super.fetchReaders(after, max, out, tokens);
+    }
+  }
+
+  @Override
+  protected String describe(Reader reader, boolean showBooks) {
+    synchronized (reader) {
+      return super.describe(reader, showBooks);
+    }
+  }
+
+  /**
+   * Times a change from when it started waiting for its locks, so the metrics show
+   * how long threads wait for each other.
+   *
+   * @return start of the outermost change on this thread, or now outside a change
+   */
+  @Override
+  protected long operationStart() {
+    Commits pending = commits.get();
+    return pending.depth > 0 ? pending.started : System.nanoTime();
+  }
+
+  /**
+   * Holds back commits inside a change that is holding locks, until commitDeferred
+   * is called by the outermost change.
+   *
+   * @param journal journal the record was appended to
+   * @param sequence sequence number of the record
+   */
+  @Override
+  protected void commit(Journal journal, long sequence) {
+    Commits pending = commits.get();
+    if (pending.depth == 0) {
+      super.commit(journal, sequence);
+      return;
+    }
+    pending.journal = journal;
+    pending.sequence = Math.max(pending.sequence, sequence);
+  }
+
+  /**
+   * Starts a change whose journal commits wait until it has released its locks, and
+   * notes when it started, before waiting for any lock, for the metrics.
+   *
+   * @return the thread's held back commits or null if nothing is journaled or timed
+   */
+  private Commits deferCommits() {
+    if (getJournal() == null && getMetrics() == null) {
+      return null;
+    }
+    Commits pending = commits.get();
+    if (pending.depth++ == 0) {
+      pending.started = System.nanoTime();
+    }
+    return pending;
+  }
+
+  /**
+   * Ends a change started by deferCommits, committing the records it held back
+   * if it is the outermost change.
+   *
+   * @param pending value returned by deferCommits
+   */
+  private void commitDeferred(Commits pending) {
+    if (pending == null || --pending.depth > 0 || pending.journal == null) {
+      return;
+    }
+    Journal journal = pending.journal;
+    long sequence = pending.sequence;
+    pending.journal = null;
+    pending.sequence = 0;
+    super.commit(journal, sequence);
+  }
+
+  /**
+   * Checks if a book's shelf counts its copies atomically, in which case taking a copy
+   * off the shelf or putting one back doesn't need the subject lock.
+   *
+   * @param book book being checked out or returned
+   * @return true if the book's shelf is a ConcurrentShelf and nothing is being journaled
+   */
+  private boolean isLockFree(Book book) {
+    return getJournal() == null && shelfFor(book.getSubject()) instanceof ConcurrentShelf;
+  }
+
+  /**
+   * Finds the subjects of a batch whose shelves need the subject lock, sorted so that
+   * batches always take their subject locks in the same order.
+   *
+   * @param batch books in a batch
+   * @return subjects to be locked
+   */
+  private SortedSet<String> lockedSubjects(Collection<Book> batch) {
+    SortedSet<String> subjects = new TreeSet<>();
+    for (Book book : batch) {
+      if (!isLockFree(book)) {
+        subjects.add(book.getSubject());
+      }
+    }
+    return subjects;
+  }
+
+  /**
+   * Runs an action holding the lock of every given subject.
+   *
+   * @param subjects subjects still to be locked
+   * @param action action to run once all are locked
+   * @return result of the action
+   */
+  private <T> T withSubjectLocks(Iterator<String> subjects, Supplier<T> action) {
+    if (!subjects.hasNext()) {
+      return action.get();
+    }
+    synchronized (subjectLock(subjects.next())) {
+      return withSubjectLocks(subjects, action);
+    }
+  }
+
+  /**
+   * Finds the lock guarding the shelf and stock of a subject.
+   *
+   * @param subject subject to be locked
+   * @return the subject's lock
+   */
+  private Object subjectLock(String subject) {
+    Object lock = subjectLocks.get(subject);
+    if (lock == null) {
+      lock = subjectLocks.computeIfAbsent(subject, s -> new Object());
+    }
+    return lock;
+  }
+
+  /**
+   * Journal records a thread has appended but not yet waited for, and when its
+   * outermost change started.
+   */
+  private static class Commits {
+    private Journal journal;
+    private long sequence;
+    private int depth;
+    private long started; // when the outermost change started, by System.nanoTime
+  }
+}
@@ -0,0 +1,276 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: ConcurrentLibraryTest.java
+ * Abstract: Tests the ConcurrentLibrary class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class ConcurrentLibraryTest {
+
+  static final int SUBJECTS = 4;
+  static final int TITLES_PER_SUBJECT = 10;
+  static final int COPIES = 3;
+  static final int READERS = 40;
+  static final int THREADS = 8;
+  static final int OPERATIONS = 20_000;
+
+  ConcurrentLibrary library;
+  List<Book> titles;
+  List<Reader> readers;
+
+  @BeforeEach
+  void setUp() {
+    library = new ConcurrentLibrary("concurrent");
+    library.setEventSink(EventSink.NO_OP);
+    titles = new ArrayList<>();
+    readers = new ArrayList<>();
+    for (int s = 0; s < SUBJECTS; s++) {
+      library.addShelf("subject " + s);
+      for (int t = 0; t < TITLES_PER_SUBJECT; t++) {
+        Book book = new Book(s + "-" + t, "Title " + t, "subject " + s, 100, "Author",
+            LocalDate.of(1970, 1, 1));
+        titles.add(book);
+        for (int c = 0; c < COPIES; c++) {
+          library.addBook(book);
+        }
+      }
+    }
+    for (int r = 1; r <= READERS; r++) {
+      Reader reader = new Reader(r, "Reader " + r, "555-555-5555");
+      readers.add(reader);
+      library.addReader(reader);
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    library = null;
+    titles = null;
+    readers = null;
+  }
+
+  @Test
+  void checkOutAndReturn() throws InterruptedException {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    List<Throwable> failures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      Random random = new Random(t);
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+          for (int i = 0; i < OPERATIONS; i++) {
+            Reader reader = readers.get(random.nextInt(READERS));
+            Book book = titles.get(random.nextInt(titles.size()));
+            if (library.checkOutBook(reader, book) == Code.BOOK_ALREADY_CHECKED_OUT_ERROR) {
+              assertEquals(Code.SUCCESS, library.returnBook(reader, book));
+            }
+          }
+        } catch (Throwable e) {
+          synchronized (failures) {
+            failures.add(e);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(failures.isEmpty(), failures.toString());
+
+    // every copy is either on its shelf or with exactly one reader
+    for (Book book : titles) {
+      int onLoan = 0;
+      for (Reader reader : readers) {
+        onLoan += reader.hasBook(book) ? 1 : 0;
+      }
+      int onShelf = library.getShelf(book.getSubject()).getBookCount(book);
+      assertTrue(onShelf >= 0);
+      assertEquals(COPIES, onShelf + onLoan);
+    }
+    for (Reader reader : readers) {
+      assertTrue(reader.getBookCount() <= Library.LENDING_LIMIT);
+    }
+    assertEquals(SUBJECTS * TITLES_PER_SUBJECT * COPIES, library.listBooks());
+  }
+
+  @Test
+  void checkOutAndReturnBatches() throws InterruptedException {
+    // a plain shelf makes its subject go through the subject lock
+    Shelf plain = new Shelf();
+    plain.setSubject("plain");
+    library.addShelf(plain);
+    for (int t = 0; t < TITLES_PER_SUBJECT; t++) {
+      Book book = new Book("p-" + t, "Title " + t, "plain", 100, "Author",
+          LocalDate.of(1970, 1, 1));
+      titles.add(book);
+      for (int c = 0; c < COPIES; c++) {
+        library.addBook(book);
+      }
+    }
+
+    List<Thread> threads = new ArrayList<>();
+    List<Throwable> failures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      Random random = new Random(t);
+      Thread thread = new Thread(() -> {
+        try {
+          for (int i = 0; i < OPERATIONS / 10; i++) {
+            Reader reader = readers.get(random.nextInt(READERS));
+            List<Book> batch = new ArrayList<>();
+            for (int b = random.nextInt(Library.LENDING_LIMIT) + 1; b > 0; b--) {
+              batch.add(titles.get(random.nextInt(titles.size())));
+            }
+            List<Code> codes = library.checkOutBooks(reader, batch);
+            assertEquals(batch.size(), codes.size());
+            List<Book> taken = new ArrayList<>();
+            for (int b = 0; b < batch.size(); b++) {
+              if (codes.get(b) == Code.SUCCESS) {
+                taken.add(batch.get(b));
+              }
+            }
+            for (Code code : library.returnBooks(reader, taken)) {
+              assertEquals(Code.SUCCESS, code);
+            }
+          }
+        } catch (Throwable e) {
+          synchronized (failures) {
+            failures.add(e);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(failures.isEmpty(), failures.toString());
+    for (Book book : titles) {
+      assertEquals(COPIES, library.getShelf(book.getSubject()).getBookCount(book));
+    }
+    for (Reader reader : readers) {
+      assertEquals(0, reader.getBookCount());
+    }
+  }
+
+  @Test
+  void journaledCheckOutAndReturn() throws InterruptedException, IOException {
+    File snapshot = File.createTempFile("snapshot", ".bin");
+    snapshot.deleteOnExit();
+    File journalFile = File.createTempFile("journal", ".log");
+    journalFile.deleteOnExit();
+    assertEquals(Code.SUCCESS, library.saveSnapshot(snapshot.getPath()));
+    Journal journal = new Journal(journalFile.getPath());
+    library.setJournal(journal);
+
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      Random random = new Random(t);
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < OPERATIONS / 100; i++) {
+          Reader reader = readers.get(random.nextInt(READERS));
+          Book book = titles.get(random.nextInt(titles.size()));
+          if (library.checkOutBook(reader, book) == Code.BOOK_ALREADY_CHECKED_OUT_ERROR) {
+            library.returnBook(reader, book);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    journal.close();
+
+    // redoing the journal in sequence order gives the same shelves and loans
+    ConcurrentLibrary recovered = new ConcurrentLibrary("recovered");
+    recovered.setEventSink(EventSink.NO_OP);
+    assertEquals(Code.SUCCESS, recovered.recover(snapshot.getPath(), journalFile.getPath()));
+    assertEquals(library.getJournalSequence(), recovered.getJournalSequence());
+    for (Book book : titles) {
+      assertEquals(library.getShelf(book.getSubject()).getBookCount(book),
+          recovered.getShelf(book.getSubject()).getBookCount(book));
+    }
+    for (Reader reader : readers) {
+      assertEquals(reader.getBooks(),
+          recovered.getReaderByCard(reader.getCardNumber()).getBooks());
+    }
+  }
+
+  @Test
+  void addReader() throws InterruptedException {
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      int first = 1000 + t * 100;
+      Thread thread = new Thread(() -> {
+        for (int card = first; card < first + 100; card++) {
+          library.addReader(new Reader(card, "Reader " + card, "555-555-5555"));
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(READERS + THREADS * 100, library.listReaders());
+    assertEquals(1250, library.getReaderByCard(1250).getCardNumber());
+  }
+
+  @Test
+  void listReadersWhileReadersChange() throws InterruptedException {
+    PrintStream out = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    try {
+      List<Thread> threads = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        int first = 1000 + t * 100;
+        boolean lister = t % 2 == 0;
+        Thread thread = new Thread(() -> {
+          for (int card = first; card < first + 100; card++) {
+            if (lister) {
+              library.listReaders();
+              library.listReaders(true);
+            } else {
+              Reader reader = new Reader(card, "Reader " + card, "555-555-5555");
+              library.addReader(reader);
+              library.removeReader(reader);
+            }
+          }
+        });
+        thread.setDaemon(true); // a deadlock must fail the test, not hang the run
+        threads.add(thread);
+        thread.start();
+      }
+      for (Thread thread : threads) {
+        thread.join(30_000);
+        assertTrue(!thread.isAlive(), "listing and changing readers deadlocked");
+      }
+      assertEquals(READERS, library.listReaders());
+    } finally {
+      System.setOut(out);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Title: ConcurrentShelf.java
+ * Abstract: Shelf whose copy counts can be changed by many threads without a lock.
+ *           Every title has its own atomic counter, so adding a copy is one increment
+ *           and removing one is a single compare and set that only succeeds while a copy
+ *           is left. Threads borrowing the same popular title never wait on each other,
+ *           and nothing is allocated once a title is on the shelf.
+ *           getBooks returns a copy of the counts at the time of the call.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/atomic/AtomicInteger.html
+ */
+
+public class ConcurrentShelf extends Shelf {
+
+  private final Map<Book, AtomicInteger> counters;
+
+  public ConcurrentShelf() {
+    super();
+    this.counters = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Returns a copy of the books on the shelf and their counts.
+   * Changing the copy does not change the shelf.
+   *
+   * @return titles on the shelf and how many copies of each are available
+   */
+  @Override
+  public HashMap<Book, Integer> getBooks() {
+    HashMap<Book, Integer> books = new HashMap<>();
+    for (Map.Entry<Book, AtomicInteger> entry : counters.entrySet()) {
+      books.put(entry.getKey(), entry.getValue().get());
+    }
+    return books;
+  }
+
+  /**
+   * Replaces every count on the shelf. Not atomic with other changes to the shelf.
+   *
+   * @param books titles and how many copies of each are available
+   */
+  @Override
+  public void setBooks(HashMap<Book, Integer> books) {
+    counters.clear();
+    for (Map.Entry<Book, Integer> entry : books.entrySet()) {
+      counters.put(entry.getKey(), new AtomicInteger(entry.getValue()));
+    }
+  }
+
+  @Override
+  public int getBookCount(Book book) {
+    AtomicInteger count = counters.get(book);
+    return count == null ? -1 : count.get();
+  }
+
+  @Override
+  public Code addBook(Book book) {
+    AtomicInteger count = counters.get(book);
+    if (count == null) {
+      if (!getSubject().equals(book.getSubject())) {
+        return Code.SHELF_SUBJECT_MISMATCH_ERROR;
+      }
+      count = counters.computeIfAbsent(book, title -> new AtomicInteger());
+    }
+    count.incrementAndGet();
+    emit(LibraryEvent.SHELF_BOOK_ADDED, book);
+    return Code.SUCCESS;
+  }
+
+  @Override
+  public Code removeBook(Book book) {
+    AtomicInteger count = counters.get(book);
+    if (count == null) {
+      emit(LibraryEvent.SHELF_BOOK_MISSING, book);
+      return Code.BOOK_NOT_IN_INVENTORY_ERROR;
+    }
+    int copies;
+    do {  // take a copy only if one is left
+      copies = count.get();
+      if (copies == 0) {
+        emit(LibraryEvent.SHELF_BOOK_EXHAUSTED, book);
+        return Code.BOOK_NOT_IN_INVENTORY_ERROR;
+      }
+    } while (!count.compareAndSet(copies, copies - 1));
+    emit(LibraryEvent.SHELF_BOOK_REMOVED, book);
+    return Code.SUCCESS;
+  }
+}
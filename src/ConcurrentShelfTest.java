@@ -0,0 +1,134 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: ConcurrentShelfTest.java
+ * Abstract: Tests the ConcurrentShelf class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class ConcurrentShelfTest {
+
+  static final int THREADS = 8;
+  static final int COPIES = 1000;
+
+  ConcurrentShelf shelf;
+  Book book;
+
+  @BeforeEach
+  void setUp() {
+    shelf = new ConcurrentShelf();
+    shelf.setEventSink(EventSink.NO_OP);
+    shelf.setSubject("Adventure");
+    book = new Book("123_456_789", "The Book Title", "Adventure",
+        1, "The Author", LocalDate.now());
+  }
+
+  @AfterEach
+  void tearDown() {
+    shelf = null;
+    book = null;
+  }
+
+  @Test
+  void getBooks() {
+    shelf.addBook(book);
+    HashMap<Book, Integer> books = shelf.getBooks();
+    assertEquals(1, books.get(book));
+    books.put(book, 5);  // a copy, the shelf keeps its count
+    assertEquals(1, shelf.getBookCount(book));
+  }
+
+  @Test
+  void setBooks() {
+    HashMap<Book, Integer> newBooks = new HashMap<>();
+    newBooks.put(book, 3);
+    shelf.setBooks(newBooks);
+    assertEquals(newBooks, shelf.getBooks());
+    assertEquals(3, shelf.getBookCount(book));
+  }
+
+  @Test
+  void addAndRemoveBook() {
+    assertEquals(-1, shelf.getBookCount(book));
+    assertEquals(Code.BOOK_NOT_IN_INVENTORY_ERROR, shelf.removeBook(book));
+    assertEquals(Code.SUCCESS, shelf.addBook(book));
+    assertEquals(Code.SUCCESS, shelf.addBook(book));
+    assertEquals(2, shelf.getBookCount(book));
+    Book other = new Book("", "", "_", 0, "", LocalDate.now());
+    assertEquals(Code.SHELF_SUBJECT_MISMATCH_ERROR, shelf.addBook(other));
+    assertEquals(Code.SUCCESS, shelf.removeBook(book));
+    assertEquals(Code.SUCCESS, shelf.removeBook(book));
+    assertEquals(Code.BOOK_NOT_IN_INVENTORY_ERROR, shelf.removeBook(book));
+    assertEquals(0, shelf.getBookCount(book));
+  }
+
+  @Test
+  void listBooks() {
+    shelf.addBook(book);
+    shelf.addBook(book);
+    assertEquals(
+        "2 books on shelf: 0 : Adventure\n" +
+            "The Book Title by The Author ISBN: 123_456_789 2\n"
+        , shelf.listBooks());
+  }
+
+  @Test
+  void testEquals() {
+    Shelf plain = new Shelf();
+    plain.setSubject("Adventure");
+    assertNotEquals(plain, shelf);
+  }
+
+  @Test
+  void removeBookHotTitle() throws InterruptedException {
+    for (int i = 0; i < COPIES; i++) {
+      shelf.addBook(book);
+    }
+    AtomicInteger taken = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      Thread thread = new Thread(() -> {
+        // every thread tries to take every copy, only COPIES removals can succeed
+        for (int i = 0; i < COPIES; i++) {
+          if (shelf.removeBook(book) == Code.SUCCESS) {
+            taken.incrementAndGet();
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(COPIES, taken.get());
+    assertEquals(0, shelf.getBookCount(book));
+
+    threads.clear();
+    for (int t = 0; t < THREADS; t++) {
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < COPIES; i++) {
+          shelf.addBook(book);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(THREADS * COPIES, shelf.getBookCount(book));
+  }
+}
@@ -0,0 +1,297 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Title: CsvReader.java
+ * Abstract: Reads a comma separated file one record at a time through a fixed size buffer.
+ *           Each line is split into fields in a single pass over its bytes and fields are
+ *           only turned into Strings when asked for, so memory stays bounded by the longest
+ *           line no matter how large the file is.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/nio/channels/FileChannel.html
+ *             https://docs.oracle.com/javase/8/docs/api/java/util/Scanner.html
+ */
+
+public class CsvReader implements Closeable {
+
+  public static final int BUFFER_SIZE = 1 << 16;
+  public static final int NOT_A_NUMBER = Integer.MIN_VALUE;
+
+  private final ReadableByteChannel channel;
+  private byte[] bytes;
+  private ByteBuffer buffer;
+  private int position;       // start of the unread data
+  private int limit;          // end of the data read so far
+  private boolean endOfInput;
+  private IOException ioException;
+
+  private int recordStart;
+  private int recordEnd;
+  private int[] fieldStarts;
+  private int[] fieldEnds;
+  private int fieldCount;
+
+  public CsvReader(String filename) throws IOException {
+    this(FileChannel.open(Paths.get(filename), StandardOpenOption.READ));
+  }
+
+  public CsvReader(ReadableByteChannel channel) {
+    this(channel, BUFFER_SIZE);
+  }
+
+  public CsvReader(ReadableByteChannel channel, int bufferSize) {
+    this.channel = channel;
+    this.bytes = new byte[bufferSize];
+    this.buffer = ByteBuffer.wrap(bytes);
+    this.fieldStarts = new int[16];
+    this.fieldEnds = new int[16];
+  }
+
+  /**
+   * Checks if there is any input left to be read. Blank lines and spaces at the end of
+   * the input don't count, though next still reads blank lines before a record.
+   *
+   * @return true if another record can be read
+   */
+  public boolean hasNext() {
+    int i = position;
+    while (true) {
+      for (; i < limit; i++) {
+        byte b = bytes[i];
+        if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+          return true;
+        }
+      }
+      int scanned = i - position;
+      if (!fill()) {
+        return false;
+      }
+      i = position + scanned;                     // data may have moved while filling
+    }
+  }
+
+  /**
+   * Moves to the next record and splits it into fields. The fields of a record
+   * can be read until the next call to hasNext or next.
+   *
+   * @return true if a record was read, false at the end of the input
+   */
+  public boolean next() {
+    int end = position;
+    while (true) {
+      while (end < limit && bytes[end] != '\n') {
+        end++;
+      }
+      if (end < limit) {
+        break;                                    // found the end of the line
+      }
+      int scanned = end - position;
+      if (!fill()) {
+        if (position == limit) {
+          fieldCount = 0;
+          return false;                           // nothing left at all
+        }
+        end = limit;                              // last line has no line break
+        break;
+      }
+      end = position + scanned;                   // data may have moved while filling
+    }
+
+    recordStart = position;
+    recordEnd = end > recordStart && bytes[end - 1] == '\r' ? end - 1 : end;
+    position = end < limit ? end + 1 : end;
+    split();
+    return true;
+  }
+
+  /**
+   * Returns the whole current record.
+   *
+   * @return text of the current record
+   */
+  public String line() {
+    return new String(bytes, recordStart, recordEnd - recordStart, StandardCharsets.UTF_8);
+  }
+
+  public int fieldCount() {
+    return fieldCount;
+  }
+
+  /**
+   * Returns a field of the current record.
+   *
+   * @param index position of the field in the record
+   * @return text of the field or an empty String if the record is too short
+   */
+  public String field(int index) {
+    if (index >= fieldCount) {
+      return "";
+    }
+    return new String(bytes, fieldStarts[index], fieldEnds[index] - fieldStarts[index],
+        StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns a field of the current record through a pool, so a field seen before
+   * is returned as the same String without creating a new one.
+   *
+   * @param index position of the field in the record
+   * @param pool pool holding the strings already seen
+   * @return pooled text of the field or an empty String if the record is too short
+   */
+  public String field(int index, StringPool pool) {
+    if (index >= fieldCount) {
+      return "";
+    }
+    return pool.intern(bytes, fieldStarts[index], fieldEnds[index]);
+  }
+
+  /**
+   * Checks if a field of the current record holds the given text without creating a String.
+   *
+   * @param index position of the field in the record
+   * @param value text to be compared
+   * @return true if the field holds exactly the text
+   */
+  public boolean fieldEquals(int index, String value) {
+    if (index >= fieldCount) {
+      return value.isEmpty();
+    }
+    int start = fieldStarts[index];
+    int length = fieldEnds[index] - start;
+    if (length != value.length()) {
+      // UTF-8 may take more bytes than chars, so only ASCII can be ruled out by length
+      return length > value.length() && field(index).equals(value);
+    }
+    for (int i = 0; i < length; i++) {
+      if (bytes[start + i] < 0) {
+        return field(index).equals(value);
+      }
+      if (bytes[start + i] != value.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads a field of the current record as a non-negative integer without creating a String.
+   *
+   * @param index position of the field in the record
+   * @return value of the field or NOT_A_NUMBER if it is not a non-negative integer
+   */
+  public int intField(int index) {
+    if (index >= fieldCount || fieldStarts[index] == fieldEnds[index]) {
+      return NOT_A_NUMBER;
+    }
+    int value = 0;
+    for (int i = fieldStarts[index]; i < fieldEnds[index]; i++) {
+      int digit = bytes[i] - '0';
+      if (digit < 0 || digit > 9 || value > (Integer.MAX_VALUE - digit) / 10) {
+        return NOT_A_NUMBER;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  /**
+   * Reads a field of the current record as an ISO date without creating a String.
+   *
+   * @param index position of the field in the record
+   * @return days since 01-Jan-1970, 0 for "0000", or DateParser.INVALID
+   */
+  public long epochDayField(int index) {
+    if (index >= fieldCount) {
+      return DateParser.INVALID;
+    }
+    return DateParser.parseEpochDay(bytes, fieldStarts[index], fieldEnds[index]);
+  }
+
+  /**
+   * Returns the IOException last thrown by the underlying channel. Like Scanner,
+   * a failed read is treated as the end of the input.
+   *
+   * @return the last IOException or null if none occurred
+   */
+  public IOException ioException() {
+    return ioException;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private void split() {
+    fieldCount = 0;
+    int start = recordStart;
+    for (int i = recordStart; i < recordEnd; i++) {
+      if (bytes[i] == ',') {
+        addField(start, i);
+        start = i + 1;
+      }
+    }
+    addField(start, recordEnd);
+    if (fieldCount > 1) { // like String.split, drop empty fields at the end of a record
+      while (fieldCount > 0 && fieldStarts[fieldCount - 1] == fieldEnds[fieldCount - 1]) {
+        fieldCount--;
+      }
+    }
+  }
+
+  private void addField(int start, int end) {
+    if (fieldCount == fieldStarts.length) {
+      fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+      fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+    }
+    fieldStarts[fieldCount] = start;
+    fieldEnds[fieldCount] = end;
+    fieldCount++;
+  }
+
+  /**
+   * Reads more input behind the unread data, moving it to the front of the buffer
+   * first and growing the buffer only when a single line does not fit.
+   *
+   * @return true if more data was read
+   */
+  private boolean fill() {
+    if (endOfInput) {
+      return false;
+    }
+    if (position > 0) {
+      System.arraycopy(bytes, position, bytes, 0, limit - position);
+      limit -= position;
+      position = 0;
+    } else if (limit == bytes.length) {
+      bytes = Arrays.copyOf(bytes, bytes.length * 2);
+      buffer = ByteBuffer.wrap(bytes);
+    }
+    buffer.limit(bytes.length).position(limit);
+    try {
+      int read;
+      do {
+        read = channel.read(buffer);
+      } while (read == 0);
+      if (read < 0) {
+        endOfInput = true;
+        return false;
+      }
+      limit += read;
+      return true;
+    } catch (IOException e) {
+      ioException = e;
+      endOfInput = true;
+      return false;
+    }
+  }
+}
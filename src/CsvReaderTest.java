@@ -0,0 +1,137 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: CsvReaderTest.java
+ * Abstract: Tests the CsvReader class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class CsvReaderTest {
+
+  private static CsvReader reader(String text, int bufferSize) {
+    return new CsvReader(Channels.newChannel(
+        new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))), bufferSize);
+  }
+
+  @Test
+  void next() {
+    CsvReader csv = reader("9\n1337,Headfirst Java,education\r\n\nlast,line", 8);
+    assertTrue(csv.next());
+    assertEquals("9", csv.line());
+    assertEquals(1, csv.fieldCount());
+
+    assertTrue(csv.next());
+    assertEquals(3, csv.fieldCount());
+    assertEquals("1337", csv.field(0));
+    assertEquals("Headfirst Java", csv.field(1));
+    assertEquals("education", csv.field(2));
+    assertEquals("", csv.field(3));
+
+    assertTrue(csv.next()); // blank line
+    assertEquals("", csv.line());
+
+    assertTrue(csv.next()); // no line break at the end
+    assertEquals("line", csv.field(1));
+    assertFalse(csv.hasNext());
+    assertFalse(csv.next());
+  }
+
+  @Test
+  void trailingBlankLines() {
+    CsvReader csv = reader("1\n\n2\n \r\n\t\n\n", 4);
+    assertTrue(csv.hasNext());
+    assertTrue(csv.next());
+    assertTrue(csv.hasNext()); // a blank line before a record
+    assertTrue(csv.next());
+    assertEquals("", csv.line());
+    assertTrue(csv.next());
+    assertEquals("2", csv.line());
+    assertFalse(csv.hasNext());
+    assertFalse(reader(" \n", 4).hasNext());
+  }
+
+  @Test
+  void trailingEmptyFields() {
+    // fields split like String.split: empty ones at the end of a record are dropped
+    CsvReader csv = reader("1,Drew,831-582-4007,1,42-w-87,2020-10-12,\n,,\na,,b,\n\n", 8);
+    assertTrue(csv.next());
+    assertEquals(6, csv.fieldCount());
+    assertEquals("2020-10-12", csv.field(5));
+    assertEquals("", csv.field(6));
+    assertTrue(csv.next());
+    assertEquals(0, csv.fieldCount());
+    assertTrue(csv.next());
+    assertEquals(3, csv.fieldCount());
+    assertEquals("", csv.field(1));
+    assertTrue(csv.next()); // a blank line is still one empty field
+    assertEquals(1, csv.fieldCount());
+    assertEquals(",,".split(",").length, 0);
+    assertEquals("a,,b,".split(",").length, 3);
+  }
+
+  @Test
+  void intField() {
+    CsvReader csv = reader("42,-1,abc,,2147483648,007\n", CsvReader.BUFFER_SIZE);
+    assertTrue(csv.next());
+    assertEquals(42, csv.intField(0));
+    assertEquals(CsvReader.NOT_A_NUMBER, csv.intField(1));
+    assertEquals(CsvReader.NOT_A_NUMBER, csv.intField(2));
+    assertEquals(CsvReader.NOT_A_NUMBER, csv.intField(3));
+    assertEquals(CsvReader.NOT_A_NUMBER, csv.intField(4));
+    assertEquals(7, csv.intField(5));
+    assertEquals(CsvReader.NOT_A_NUMBER, csv.intField(6));
+  }
+
+  @Test
+  void pooledField() {
+    StringPool pool = new StringPool();
+    CsvReader csv = reader("sci-fi,,Douglas Adams\nsci-fi,Douglas Adams,Dune\n", 8);
+    assertTrue(csv.next());
+    String subject = csv.field(0, pool);
+    assertEquals("sci-fi", subject);
+    assertEquals("", csv.field(1, pool));
+    assertEquals("", csv.field(3, pool));
+    assertTrue(csv.next());
+    assertSame(subject, csv.field(0, pool));
+    assertEquals(2, pool.size()); // "sci-fi" and ""
+  }
+
+  @Test
+  void fieldEquals() {
+    CsvReader csv = reader("Dune,Frank Herbert,\u00c9ric,\n", CsvReader.BUFFER_SIZE);
+    assertTrue(csv.next());
+    assertTrue(csv.fieldEquals(0, "Dune"));
+    assertFalse(csv.fieldEquals(0, "Dun"));
+    assertFalse(csv.fieldEquals(0, "Dune!"));
+    assertFalse(csv.fieldEquals(1, "Frank Herbers"));
+    assertTrue(csv.fieldEquals(2, "\u00c9ric"));
+    assertFalse(csv.fieldEquals(2, "Eric"));
+    assertTrue(csv.fieldEquals(3, ""));
+    assertTrue(csv.fieldEquals(4, ""));
+  }
+
+  @Test
+  void longLines() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      text.append("Hitchhikers Guide To the Galaxy ").append(i).append(",Douglas Adams\n");
+    }
+    CsvReader csv = reader(text.toString(), 4);
+    for (int i = 0; i < 100; i++) {
+      assertTrue(csv.next());
+      assertEquals("Hitchhikers Guide To the Galaxy " + i, csv.field(0));
+      assertEquals("Douglas Adams", csv.field(1));
+    }
+    assertFalse(csv.next());
+  }
+}
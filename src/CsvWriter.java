@@ -0,0 +1,112 @@
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+/**
+ * Title: CsvWriter.java
+ * Abstract: Writes comma separated records in the layout CsvReader reads, one field at a
+ *           time through a fixed size buffer, so memory stays the same however much is
+ *           written. CsvReader has no quoting, so a field holding a comma or a line break
+ *           can't be written and is reported as an IOException instead of corrupting the file.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/io/BufferedWriter.html
+ */
+
+public class CsvWriter implements Closeable {
+
+  public static final int BUFFER_SIZE = 1 << 16;
+  public static final String NO_DATE = "0000"; // read back as DateParser.DEFAULT_DATE
+
+  private final Writer out;
+  private boolean firstField;
+
+  public CsvWriter(Writer out) {
+    this.out = new BufferedWriter(out, BUFFER_SIZE);
+    this.firstField = true;
+  }
+
+  /**
+   * Writes a text field to the current record.
+   *
+   * @param value text of the field
+   * @return this writer
+   * @throws IOException if the field holds a separator or could not be written
+   */
+  public CsvWriter field(String value) throws IOException {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == ',' || c == '\n' || c == '\r') {
+        throw new IOException("field can't be written without quoting: " + value);
+      }
+    }
+    separate();
+    out.write(value);
+    return this;
+  }
+
+  /**
+   * Writes a number field to the current record.
+   *
+   * @param value value of the field
+   * @return this writer
+   * @throws IOException if the field could not be written
+   */
+  public CsvWriter field(int value) throws IOException {
+    separate();
+    out.write(Integer.toString(value));
+    return this;
+  }
+
+  /**
+   * Writes an ISO date field to the current record.
+   *
+   * @param date date of the field or null for no date
+   * @return this writer
+   * @throws IOException if the field could not be written
+   */
+  public CsvWriter field(LocalDate date) throws IOException {
+    separate();
+    out.write(date == null ? NO_DATE : date.toString());
+    return this;
+  }
+
+  /**
+   * Ends the current record.
+   *
+   * @throws IOException if the line break could not be written
+   */
+  public void endRecord() throws IOException {
+    out.write('\n');
+    firstField = true;
+  }
+
+  /**
+   * Writes a record holding a single number, such as a section's record count.
+   *
+   * @param count number to be written
+   * @throws IOException if the record could not be written
+   */
+  public void count(int count) throws IOException {
+    field(count);
+    endRecord();
+  }
+
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  private void separate() throws IOException {
+    if (!firstField) {
+      out.write(',');
+    }
+    firstField = false;
+  }
+}
@@ -0,0 +1,57 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: CsvWriterTest.java
+ * Abstract: Tests the CsvWriter class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class CsvWriterTest {
+
+  @Test
+  void field() throws IOException {
+    StringWriter text = new StringWriter();
+    CsvWriter csv = new CsvWriter(text);
+    csv.count(2);
+    csv.field("1337").field("Headfirst Java").field(42).field(LocalDate.of(2020, 11, 1));
+    csv.endRecord();
+    csv.field("").field((LocalDate) null);
+    csv.endRecord();
+    csv.flush();
+    assertEquals("2\n1337,Headfirst Java,42,2020-11-01\n,0000\n", text.toString());
+  }
+
+  @Test
+  void separatorInField() {
+    CsvWriter csv = new CsvWriter(new StringWriter());
+    assertThrows(IOException.class, () -> csv.field("a,b"));
+    assertThrows(IOException.class, () -> csv.field("a\nb"));
+  }
+
+  @Test
+  void readBack() throws IOException {
+    StringWriter text = new StringWriter();
+    CsvWriter csv = new CsvWriter(text);
+    csv.field("42-w-87").field(42).field(LocalDate.of(2019, 2, 18));
+    csv.endRecord();
+    csv.flush();
+    CsvReader reader = new CsvReader(Channels.newChannel(
+        new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8))));
+    assertTrue(reader.next());
+    assertEquals("42-w-87", reader.field(0));
+    assertEquals(42, reader.intField(1));
+    assertEquals(LocalDate.of(2019, 2, 18).toEpochDay(), reader.epochDayField(2));
+  }
+}
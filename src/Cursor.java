@@ -0,0 +1,110 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Title: Cursor.java
+ * Abstract: Lazy listing of a library's books, shelves or readers in a stable order.
+ *           Items are fetched from the library a small batch at a time as they are
+ *           iterated, so a listing of millions holds no more than a batch. After any
+ *           item, token() tells where the listing got to; handing the token back to the
+ *           library's listing method carries on with the next item, in a later request
+ *           or after the library has changed. Items added since come at the end, and
+ *           items removed since are skipped.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/util/Iterator.html
+ *             https://docs.oracle.com/javase/8/docs/api/java/util/stream/StreamSupport.html
+ */
+
+public class Cursor<T> implements Iterator<T> {
+
+  public static final int BATCH = 64; // items fetched from the library at a time
+
+  /**
+   * Where a cursor fetches its items from.
+   */
+  @FunctionalInterface
+  public interface Source<T> {
+
+    /**
+     * Copies the items following a token, in listing order.
+     *
+     * @param after token of the last item already listed, or 0 to start
+     * @param max most items to be copied
+     * @param out destination of the items
+     * @param tokens destination of the token of each item copied
+     * @return number of items copied
+     */
+    int fetch(long after, int max, List<T> out, long[] tokens);
+  }
+
+  private final Source<T> source;
+  private final List<T> batch;
+  private final long[] tokens;
+  private int next;         // position in batch of the next item
+  private long token;       // token of the last item returned
+  private boolean finished; // the source had nothing more
+
+  /**
+   * Starts a listing after the given token.
+   *
+   * @param source where the items come from
+   * @param after token of the last item already listed, or 0 to start
+   */
+  public Cursor(Source<T> source, long after) {
+    this.source = source;
+    this.batch = new ArrayList<>(BATCH);
+    this.tokens = new long[BATCH];
+    this.token = after;
+  }
+
+  /**
+   * Returns where the listing got to.
+   *
+   * @return token of the last item returned, to resume after it
+   */
+  public long token() {
+    return token;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next < batch.size()) {
+      return true;
+    }
+    if (finished) {
+      return false;
+    }
+    batch.clear();
+    next = 0;
+    int fetched = source.fetch(token, BATCH, batch, tokens);
+    finished = fetched < BATCH;
+    return fetched > 0;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    token = tokens[next];
+    return batch.get(next++);
+  }
+
+  /**
+   * Returns the rest of the listing as a stream. Taking a page with limit leaves
+   * the token after the last item of the page.
+   *
+   * @return lazy stream of the items not yet returned
+   */
+  public Stream<T> stream() {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+        Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+}
@@ -0,0 +1,72 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: CursorTest.java
+ * Abstract: Tests the Cursor class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class CursorTest {
+
+  List<Integer> items;
+  int fetches;
+  Cursor.Source<Integer> source;
+
+  @BeforeEach
+  void setUp() {
+    items = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      items.add(i * 10);
+    }
+    fetches = 0;
+    source = (after, max, out, tokens) -> { // the token of an item is its place + 1
+      fetches++;
+      int count = 0;
+      for (int i = (int) after; i < items.size() && count < max; i++) {
+        out.add(items.get(i));
+        tokens[count++] = i + 1;
+      }
+      return count;
+    };
+  }
+
+  @AfterEach
+  void tearDown() {
+    items = null;
+    source = null;
+  }
+
+  @Test
+  void pages() {
+    Cursor<Integer> cursor = new Cursor<>(source, 0);
+    assertEquals(List.of(0, 10, 20), cursor.stream().limit(3).collect(Collectors.toList()));
+    assertEquals(3, cursor.token());
+    assertEquals(1, fetches); // one batch so far
+
+    Cursor<Integer> resumed = new Cursor<>(source, cursor.token());
+    List<Integer> rest = resumed.stream().collect(Collectors.toList());
+    assertEquals(items.subList(3, 200), rest);
+    assertEquals(200, resumed.token());
+    assertFalse(resumed.hasNext());
+    assertThrows(NoSuchElementException.class, resumed::next);
+  }
+
+  @Test
+  void empty() {
+    Cursor<Integer> cursor = new Cursor<>(source, 200);
+    assertFalse(cursor.hasNext());
+    assertEquals(200, cursor.token());
+  }
+}
@@ -0,0 +1,135 @@
+import java.time.LocalDate;
+
+/**
+ * Title: DateParser.java
+ * Abstract: Parses fixed format ISO dates (yyyy-MM-dd) straight from a range of characters
+ *           or bytes. No Strings are created and bad input is reported with a return value
+ *           instead of an exception. "0000" is the library's way of writing "no date".
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://howardhinnant.github.io/date_algorithms.html
+ *             https://docs.oracle.com/javase/8/docs/api/java/time/LocalDate.html
+ */
+
+public class DateParser {
+
+  public static final LocalDate DEFAULT_DATE = LocalDate.of(1970, 1, 1);
+  public static final long INVALID = Long.MIN_VALUE;
+
+  private static final int LENGTH = 10; // yyyy-MM-dd
+
+  private DateParser() {
+  }
+
+  /**
+   * Parses a date from a range of characters.
+   *
+   * @param text characters holding the date
+   * @param from index of the first character
+   * @param to index after the last character
+   * @return parsed date, DEFAULT_DATE for "0000", or null if the range is not a valid date
+   */
+  public static LocalDate parse(CharSequence text, int from, int to) {
+    long epochDay = parseEpochDay(text, from, to);
+    return epochDay == INVALID ? null : toDate(epochDay);
+  }
+
+  /**
+   * Parses a date from a range of characters into days since 01-Jan-1970.
+   *
+   * @param text characters holding the date
+   * @param from index of the first character
+   * @param to index after the last character
+   * @return epoch day of the date, 0 for "0000", or INVALID if the range is not a valid date
+   */
+  public static long parseEpochDay(CharSequence text, int from, int to) {
+    if (to - from == 4 && text.charAt(from) == '0' && text.charAt(from + 1) == '0'
+        && text.charAt(from + 2) == '0' && text.charAt(from + 3) == '0') {
+      return 0;
+    }
+    if (to - from != LENGTH || text.charAt(from + 4) != '-' || text.charAt(from + 7) != '-') {
+      return INVALID;
+    }
+    int year = digits(text.charAt(from), text.charAt(from + 1),
+        text.charAt(from + 2), text.charAt(from + 3));
+    int month = digits(text.charAt(from + 5), text.charAt(from + 6));
+    int day = digits(text.charAt(from + 8), text.charAt(from + 9));
+    return epochDay(year, month, day);
+  }
+
+  /**
+   * Parses a date from a range of ASCII bytes into days since 01-Jan-1970.
+   *
+   * @param bytes bytes holding the date
+   * @param from index of the first byte
+   * @param to index after the last byte
+   * @return epoch day of the date, 0 for "0000", or INVALID if the range is not a valid date
+   */
+  public static long parseEpochDay(byte[] bytes, int from, int to) {
+    if (to - from == 4 && bytes[from] == '0' && bytes[from + 1] == '0'
+        && bytes[from + 2] == '0' && bytes[from + 3] == '0') {
+      return 0;
+    }
+    if (to - from != LENGTH || bytes[from + 4] != '-' || bytes[from + 7] != '-') {
+      return INVALID;
+    }
+    int year = digits(bytes[from], bytes[from + 1], bytes[from + 2], bytes[from + 3]);
+    int month = digits(bytes[from + 5], bytes[from + 6]);
+    int day = digits(bytes[from + 8], bytes[from + 9]);
+    return epochDay(year, month, day);
+  }
+
+  /**
+   * Converts an epoch day returned by parseEpochDay to a LocalDate.
+   *
+   * @param epochDay days since 01-Jan-1970
+   * @return the date for that day
+   */
+  public static LocalDate toDate(long epochDay) {
+    return epochDay == 0 ? DEFAULT_DATE : LocalDate.ofEpochDay(epochDay);
+  }
+
+  private static int digits(int tens, int ones) {
+    int high = tens - '0';
+    int low = ones - '0';
+    if (high < 0 || high > 9 || low < 0 || low > 9) {
+      return -1;
+    }
+    return high * 10 + low;
+  }
+
+  private static int digits(int a, int b, int c, int d) {
+    int high = digits(a, b);
+    int low = digits(c, d);
+    return high < 0 || low < 0 ? -1 : high * 100 + low;
+  }
+
+  /**
+   * Counts the days from 01-Jan-1970 to a date, checking that the date exists.
+   *
+   * @param year year of the date
+   * @param month month of the date, 1 to 12
+   * @param day day of the month
+   * @return epoch day of the date or INVALID if there is no such date
+   */
+  private static long epochDay(int year, int month, int day) {
+    if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+      return INVALID;
+    }
+    // days from civil, with the year starting in March so the leap day comes last
+    int y = month <= 2 ? year - 1 : year;
+    int era = (y >= 0 ? y : y - 399) / 400;
+    int yearOfEra = y - era * 400;
+    int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097L + dayOfEra - 719468;
+  }
+
+  private static int daysInMonth(int year, int month) {
+    if (month == 2) {
+      boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+      return leap ? 29 : 28;
+    }
+    return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+  }
+}
@@ -0,0 +1,62 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Title: DateParserBenchmark.java
+ * Abstract: Compares Library.convertDate before and after DateParser on the dates
+ *           found in catalog files. Usage: java DateParserBenchmark [iterations]
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+public class DateParserBenchmark {
+
+  private static final String[] DATES = {
+      "2020-10-12", "2020-11-01", "0000", "2020-05-05", "2020-12-12", "2021-01-02", "2019-02-18"
+  };
+
+  public static void main(String[] args) {
+    int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+    for (int round = 0; round < 3; round++) { // the first rounds warm up the JIT
+      time("split + parseInt + LocalDate.parse", iterations, true);
+      time("DateParser", iterations, false);
+    }
+  }
+
+  private static void time(String label, int iterations, boolean legacy) {
+    long sum = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      String date = DATES[i % DATES.length];
+      LocalDate parsed = legacy
+          ? legacyConvertDate(date)
+          : Library.convertDate(date, Code.DATE_CONVERSION_ERROR);
+      sum += parsed.getDayOfMonth();
+    }
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("%s: %.1f ns/op (%d)%n", label, (double) elapsed / iterations, sum);
+  }
+
+  /**
+   * Library.convertDate as it was before DateParser, without its error messages.
+   *
+   * @param date string to be converted
+   * @return LocalDate conversion of given string or the default date
+   */
+  private static LocalDate legacyConvertDate(String date) {
+    if (date.equals("0000")) {
+      return LocalDate.of(1970, 1, 1);
+    }
+    String[] dateToParse = date.split("-");
+    if (dateToParse.length != 3 || Integer.parseInt(dateToParse[0]) < 0
+        || Integer.parseInt(dateToParse[1]) < 0 || Integer.parseInt(dateToParse[2]) < 0) {
+      return LocalDate.of(1970, 1, 1);
+    }
+    try {
+      return LocalDate.parse(date);
+    } catch (DateTimeParseException e) {
+      return LocalDate.of(1970, 1, 1);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: DateParserTest.java
+ * Abstract: Tests the DateParser class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class DateParserTest {
+
+  @Test
+  void parse() {
+    assertEquals(LocalDate.of(1982, 2, 18), DateParser.parse("1982-02-18", 0, 10));
+    assertEquals(LocalDate.of(2020, 10, 12), DateParser.parse("x,2020-10-12,y", 2, 12));
+    assertEquals(DateParser.DEFAULT_DATE, DateParser.parse("0000", 0, 4));
+
+    assertNull(DateParser.parse("1982-02", 0, 7));
+    assertNull(DateParser.parse("2025-10-105", 0, 11));
+    assertNull(DateParser.parse("2021-02-29", 0, 10));
+    assertNull(DateParser.parse("2021-13-01", 0, 10));
+    assertNull(DateParser.parse("2021-00-01", 0, 10));
+    assertNull(DateParser.parse("2021-01-00", 0, 10));
+    assertNull(DateParser.parse("20a1-01-01", 0, 10));
+    assertNull(DateParser.parse("2021/01/01", 0, 10));
+    assertNull(DateParser.parse("", 0, 0));
+  }
+
+  @Test
+  void parseEpochDay() {
+    // every day from 1600 to 2400 agrees with LocalDate
+    for (LocalDate date = LocalDate.of(1600, 1, 1); date.getYear() < 2400; date = date.plusDays(1)) {
+      String text = date.toString();
+      assertEquals(date.toEpochDay(), DateParser.parseEpochDay(text, 0, text.length()));
+      byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+      assertEquals(date.toEpochDay(), DateParser.parseEpochDay(bytes, 0, bytes.length));
+    }
+    assertEquals(DateParser.INVALID, DateParser.parseEpochDay("1900-02-29", 0, 10));
+    assertEquals(LocalDate.of(2000, 2, 29).toEpochDay(),
+        DateParser.parseEpochDay("2000-02-29", 0, 10));
+  }
+}
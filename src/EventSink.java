@@ -0,0 +1,51 @@
+/**
+ * Title: EventSink.java
+ * Abstract: Receives the events raised by a Library and its shelves.
+ *           Events carry the objects they are about and are only turned into
+ *           messages by sinks that actually write them out.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+@FunctionalInterface
+public interface EventSink {
+
+  /**
+   * Drops every event. Libraries using it skip building event arguments.
+   */
+  EventSink NO_OP = new EventSink() {
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+
+    @Override
+    public void accept(LibraryEvent event, Object subject, Object detail) {
+    }
+  };
+
+  /**
+   * Prints every event to System.out as it happens.
+   */
+  EventSink CONSOLE = (event, subject, detail) ->
+      System.out.println(event.format(subject, detail));
+
+  /**
+   * Tells callers whether events are wanted at all.
+   *
+   * @return false if accept would ignore every event
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Receives one event.
+   *
+   * @param event what happened
+   * @param subject object the event is about
+   * @param detail additional object for the event or null
+   */
+  void accept(LibraryEvent event, Object subject, Object detail);
+}
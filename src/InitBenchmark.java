@@ -0,0 +1,146 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Title: InitBenchmark.java
+ * Abstract: Times Library.init on a generated catalog.
+ *           Usage: java InitBenchmark [titles] [readers]
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+public class InitBenchmark {
+
+  public static final int DEFAULT_TITLES = 1_000_000;
+  public static final int DEFAULT_READERS = 200_000;
+  public static final int SUBJECTS = 100;
+  public static final int LOANS_PER_READER = 2;
+
+  public static void main(String[] args) throws IOException {
+    int titles = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TITLES;
+    int readers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_READERS;
+
+    File file = File.createTempFile("initBenchmark", ".csv");
+    file.deleteOnExit();
+    writeCatalog(file, titles, readers);
+
+    Library library = quietLibrary();
+    long start = System.nanoTime();
+    Code code = library.init(file.getPath());
+    long elapsed = System.nanoTime() - start;
+    start = System.nanoTime();
+    Code parallelCode = quietLibrary().initParallel(file.getPath());
+    long parallelElapsed = System.nanoTime() - start;
+
+    System.out.println("init of " + titles + " titles and " + readers + " readers: "
+        + code + " in " + (elapsed / 1_000_000) + " ms");
+    System.out.println("initParallel on " + ForkJoinPool.commonPool().getParallelism()
+        + " workers: " + parallelCode + " in " + (parallelElapsed / 1_000_000) + " ms");
+
+    // restoring the same library from a binary snapshot
+    File snapshot = File.createTempFile("initBenchmark", ".snapshot");
+    snapshot.deleteOnExit();
+    start = System.nanoTime();
+    Code saveCode = library.saveSnapshot(snapshot.getPath());
+    long saveElapsed = System.nanoTime() - start;
+    File exported = File.createTempFile("initBenchmark", ".export.csv");
+    exported.deleteOnExit();
+    start = System.nanoTime();
+    Code exportCode = library.exportCsv(exported.getPath());
+    long exportElapsed = System.nanoTime() - start;
+    exported.delete();
+    library = null;
+    start = System.nanoTime();
+    Code loadCode = quietLibrary().loadSnapshot(snapshot.getPath());
+    long loadElapsed = System.nanoTime() - start;
+    System.out.println("saveSnapshot of " + (snapshot.length() >> 20) + " MB: " + saveCode
+        + " in " + (saveElapsed / 1_000_000) + " ms");
+    System.out.println("loadSnapshot: " + loadCode + " in " + (loadElapsed / 1_000_000) + " ms");
+    System.out.println("exportCsv: " + exportCode + " in " + (exportElapsed / 1_000_000) + " ms");
+
+    // tokenizing alone, without building the library
+    System.out.println(throughput("Scanner + split", file, scanFields(file)));
+    System.out.println(throughput("CsvReader", file, csvFields(file)));
+  }
+
+  /**
+   * Creates a library that keeps its events and listings off the console.
+   *
+   * @return an empty library
+   */
+  public static Library quietLibrary() {
+    Library library = new Library("benchmark");
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    return library;
+  }
+
+  /**
+   * Tokenizes a file the way init did before CsvReader.
+   *
+   * @param file file to be read
+   * @return elapsed nanoseconds
+   * @throws IOException if the file could not be read
+   */
+  public static long scanFields(File file) throws IOException {
+    long start = System.nanoTime();
+    long fields = 0;
+    try (Scanner scan = new Scanner(file)) {
+      while (scan.hasNext()) {
+        fields += scan.nextLine().split(",").length;
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    System.out.println(fields + " fields");
+    return elapsed;
+  }
+
+  /**
+   * Tokenizes a file with CsvReader, turning each field into a String.
+   *
+   * @param file file to be read
+   * @return elapsed nanoseconds
+   * @throws IOException if the file could not be read
+   */
+  public static long csvFields(File file) throws IOException {
+    long start = System.nanoTime();
+    long fields = 0;
+    try (CsvReader csv = new CsvReader(file.getPath())) {
+      while (csv.next()) {
+        for (int i = 0; i < csv.fieldCount(); i++) {
+          fields += csv.field(i).isEmpty() ? 0 : 1;
+        }
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    System.out.println(fields + " fields");
+    return elapsed;
+  }
+
+  private static String throughput(String label, File file, long nanos) {
+    double megabytes = file.length() / (1024.0 * 1024.0);
+    return String.format("%s: %.0f MB in %d ms, %.0f MB/s",
+        label, megabytes, nanos / 1_000_000, megabytes / (nanos / 1e9));
+  }
+
+  /**
+   * Writes a catalog in the Library CSV format with one copy of each title,
+   * one shelf per subject and LOANS_PER_READER loans per reader.
+   *
+   * @param file file to be written
+   * @param titles number of titles in the book section
+   * @param readers number of readers in the reader section
+   * @throws IOException if the file could not be written
+   */
+  public static void writeCatalog(File file, int titles, int readers) throws IOException {
+    CatalogGenerator generator = new CatalogGenerator(titles);
+    generator.setTitles(titles);
+    generator.setSubjects(SUBJECTS);
+    generator.setReaders(readers);
+    generator.setLoansPerReader(LOANS_PER_READER);
+    generator.write(file.getPath());
+  }
+}
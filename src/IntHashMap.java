@@ -0,0 +1,242 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Title: IntHashMap.java
+ * Abstract: Hash map from primitive int keys to values that keeps insertion order.
+ *           Entries live in parallel arrays in the order they were added and an
+ *           open-addressed table points into them, so keys are never boxed and
+ *           iteration follows insertion order. Each new key also takes the next of an
+ *           increasing sequence of numbers, so a listing can resume after an entry in
+ *           a later call even if that entry has since been removed.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/util/LinkedHashMap.html
+ */
+
+public class IntHashMap<V> implements Iterable<V> {
+
+  private static final int EMPTY = -1;
+  private static final int MIN_CAPACITY = 8;
+
+  private int[] table;      // entry index for each slot or EMPTY
+  private int[] keys;       // keys in insertion order
+  private Object[] values;  // values in insertion order, null once removed
+  private long[] sequences; // increasing sequence number of each entry
+  private long lastSequence;
+  private int entries;      // entry slots used, including removed ones
+  private int size;         // live entries
+
+  public IntHashMap() {
+    this(MIN_CAPACITY);
+  }
+
+  public IntHashMap(int expectedSize) {
+    allocate(Math.max(MIN_CAPACITY, expectedSize));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the value mapped to the given key.
+   *
+   * @param key key to be searched for
+   * @return value for the key or null if not present
+   */
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    int entry = find(key);
+    return entry == EMPTY ? null : (V) values[entry];
+  }
+
+  public boolean containsKey(int key) {
+    return find(key) != EMPTY;
+  }
+
+  /**
+   * Maps the given key to the given value. A new key is placed after all
+   * existing entries, a present key keeps its position.
+   *
+   * @param key key to be added
+   * @param value value to be added, must not be null
+   * @return previous value for the key or null if not present
+   */
+  @SuppressWarnings("unchecked")
+  public V put(int key, V value) {
+    if (value == null) {
+      throw new NullPointerException("IntHashMap does not hold null values");
+    }
+    int entry = find(key);
+    if (entry != EMPTY) {
+      V previous = (V) values[entry];
+      values[entry] = value;
+      return previous;
+    }
+    if (entries == keys.length) {
+      // compact in place if enough entries were removed, otherwise grow
+      allocateAndCopy(size * 2 > keys.length ? keys.length * 2 : keys.length);
+    }
+    keys[entries] = key;
+    values[entries] = value;
+    sequences[entries] = ++lastSequence;
+    table[freeSlot(key)] = entries;
+    entries++;
+    size++;
+    return null;
+  }
+
+  /**
+   * Removes the mapping for the given key.
+   *
+   * @param key key to be removed
+   * @return removed value or null if not present
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(int key) {
+    int entry = find(key);
+    if (entry == EMPTY) {
+      return null;
+    }
+    V previous = (V) values[entry];
+    values[entry] = null; // the table slot stays as a tombstone until the next resize
+    size--;
+    return previous;
+  }
+
+  public void clear() {
+    Arrays.fill(table, EMPTY);
+    Arrays.fill(values, 0, entries, null);
+    entries = 0;
+    size = 0;
+  }
+
+  /**
+   * Copies the values added after a given one, in insertion order.
+   *
+   * @param after sequence number of the last value already listed, or 0 to start
+   * @param max most values to be copied
+   * @param out destination of the values
+   * @param outSequences destination of the sequence number of each value copied
+   * @return number of values copied
+   */
+  @SuppressWarnings("unchecked")
+  public int valuesAfter(long after, int max, List<? super V> out,
+      long[] outSequences) {
+    int from = Arrays.binarySearch(sequences, 0, entries, after);
+    from = from < 0 ? -from - 1 : from + 1;
+    int count = 0;
+    for (int i = from; i < entries && count < max; i++) {
+      if (values[i] != null) {
+        out.add((V) values[i]);
+        outSequences[count++] = sequences[i];
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Iterates over the values in insertion order.
+   *
+   * @return iterator over the live values
+   */
+  @Override
+  public Iterator<V> iterator() {
+    return new Iterator<V>() {
+      private int next = advance(0);
+      private int last = EMPTY;
+
+      private int advance(int from) {
+        while (from < entries && values[from] == null) {
+          from++;
+        }
+        return from;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next < entries;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public V next() {
+        if (next >= entries) {
+          throw new NoSuchElementException();
+        }
+        last = next;
+        next = advance(next + 1);
+        return (V) values[last];
+      }
+
+      @Override
+      public void remove() {
+        if (last == EMPTY) {
+          throw new IllegalStateException();
+        }
+        IntHashMap.this.remove(keys[last]);
+        last = EMPTY;
+      }
+    };
+  }
+
+  private int find(int key) {
+    int mask = table.length - 1;
+    for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == EMPTY) {
+        return EMPTY;
+      }
+      if (keys[entry] == key && values[entry] != null) {
+        return entry;
+      }
+    }
+  }
+
+  private int freeSlot(int key) {
+    int mask = table.length - 1;
+    int slot = hash(key) & mask;
+    while (table[slot] != EMPTY) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new Object[capacity];
+    sequences = new long[capacity];
+    table = new int[Integer.highestOneBit(capacity - 1) << 2]; // load factor at most 1/2
+    Arrays.fill(table, EMPTY);
+  }
+
+  private void allocateAndCopy(int capacity) {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    long[] oldSequences = sequences;
+    int oldEntries = entries;
+    allocate(capacity);
+    entries = 0;
+    for (int i = 0; i < oldEntries; i++) {
+      if (oldValues[i] != null) {
+        keys[entries] = oldKeys[i];
+        values[entries] = oldValues[i];
+        sequences[entries] = oldSequences[i];
+        table[freeSlot(oldKeys[i])] = entries;
+        entries++;
+      }
+    }
+  }
+
+  private static int hash(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
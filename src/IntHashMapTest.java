@@ -0,0 +1,127 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: IntHashMapTest.java
+ * Abstract: Tests the IntHashMap class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class IntHashMapTest {
+
+  IntHashMap<String> map;
+
+  @BeforeEach
+  void setUp() {
+    map = new IntHashMap<>();
+  }
+
+  @AfterEach
+  void tearDown() {
+    map = null;
+  }
+
+  @Test
+  void put() {
+    assertNull(map.put(1, "one"));
+    assertEquals("one", map.put(1, "uno"));
+    assertEquals("uno", map.get(1));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void get() {
+    assertNull(map.get(1));
+    map.put(1, "one");
+    map.put(-1, "minus one");
+    assertEquals("one", map.get(1));
+    assertEquals("minus one", map.get(-1));
+    assertNull(map.get(2));
+  }
+
+  @Test
+  void remove() {
+    assertNull(map.remove(1));
+    map.put(1, "one");
+    assertEquals("one", map.remove(1));
+    assertFalse(map.containsKey(1));
+    assertTrue(map.isEmpty());
+
+    // a removed key can be added again
+    map.put(1, "one");
+    assertEquals("one", map.get(1));
+  }
+
+  @Test
+  void iterator() {
+    for (int i = 1000; i > 0; i--) {
+      map.put(i, Integer.toString(i));
+    }
+    for (int i = 1000; i > 0; i -= 2) {
+      map.remove(i);
+    }
+    map.put(1000, "1000");
+
+    // values come back in insertion order
+    List<String> values = new ArrayList<>();
+    for (String value : map) {
+      values.add(value);
+    }
+    assertEquals(501, values.size());
+    assertEquals("999", values.get(0));
+    assertEquals("1", values.get(499));
+    assertEquals("1000", values.get(500));
+  }
+
+  @Test
+  void growAndCompact() {
+    for (int round = 0; round < 10; round++) {
+      for (int i = 0; i < 100; i++) {
+        map.put(i, "value");
+      }
+      for (int i = 0; i < 100; i++) {
+        assertEquals("value", map.remove(i));
+      }
+    }
+    assertEquals(0, map.size());
+    for (int i = 0; i < 100_000; i++) {
+      map.put(i * 31, "value");
+    }
+    assertEquals(100_000, map.size());
+    assertTrue(map.containsKey(31 * 99_999));
+  }
+
+  @Test
+  void valuesAfter() {
+    for (int i = 0; i < 20; i++) {
+      map.put(i, "v" + i);
+    }
+    List<String> page = new ArrayList<>();
+    long[] sequences = new long[5];
+    assertEquals(5, map.valuesAfter(0, 5, page, sequences));
+    assertEquals(List.of("v0", "v1", "v2", "v3", "v4"), page);
+    long token = sequences[4];
+
+    // removing the last value listed and compacting the rest keeps the place
+    map.remove(4);
+    map.remove(5);
+    for (int i = 20; i < 200; i++) {
+      map.put(i, "v" + i);
+    }
+    page.clear();
+    assertEquals(3, map.valuesAfter(token, 3, page, sequences));
+    assertEquals(List.of("v6", "v7", "v8"), page);
+    page.clear();
+    assertEquals(0, map.valuesAfter(Long.MAX_VALUE, 3, page, sequences));
+  }
+}
@@ -0,0 +1,600 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Title: Journal.java
+ * Abstract: Append only log of the changes made to a library, so the changes made since
+ *           the last snapshot survive a crash. It is a redo log rather than a write-ahead
+ *           log: a change is appended after the library has made it, so only changes that
+ *           succeeded are recorded, and recover makes them again after the snapshot.
+ *           Every record has a sequence number and a CRC32, and a record cut short by a
+ *           crash is dropped when the journal is opened.
+ *           Records are gathered in memory and written with one fsync per group: while one
+ *           thread is writing and forcing a group to disk, records from other threads
+ *           collect behind it and go out together in the next write, so the cost of an
+ *           fsync is shared by everyone who committed during the previous one.
+ *           A journal opened without waiting for sync writes its records once enough have
+ *           collected, or when it is flushed or closed.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/nio/channels/FileChannel.html
+ *             Database group commit, e.g. https://www.postgresql.org/docs/current/wal-configuration.html
+ */
+
+public class Journal implements Closeable {
+
+  public static final int MAGIC = 0x4C49424A; // "LIBJ"
+  public static final short VERSION = 1;
+  public static final int BATCH_SIZE = 1 << 16; // bytes gathered before a write without waiting
+  public static final long FAILED = -1; // returned by append once the journal has failed
+
+  private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+  private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES; // length and checksum
+  private static final int MAX_RECORD_SIZE = 1 << 20;
+
+  /**
+   * Changes recorded in the journal.
+   */
+  public enum Operation {
+    ADD_BOOK, ADD_SHELF, CHECK_OUT, RETURN, RETURN_TO_SHELF, ADD_READER, REMOVE_READER
+  }
+
+  private final String filename;
+  private final FileChannel channel;
+  private final boolean waitForSync;
+  private final Object lock;
+  private ByteBuffer pending; // records appended and not yet written
+  private ByteBuffer spare;   // buffer the writer hands back after a write
+  private long lastSequence;   // last sequence number appended
+  private long syncedSequence; // last sequence number written and forced to disk
+  private boolean syncing;
+  private IOException error;
+
+  /**
+   * Opens a journal whose commits wait until their records are on disk.
+   *
+   * @param filename journal file, created if it doesn't exist
+   * @throws IOException if the file could not be opened or is not a journal
+   */
+  public Journal(String filename) throws IOException {
+    this(filename, true);
+  }
+
+  /**
+   * Opens a journal, dropping any record at its end that was cut short.
+   *
+   * @param filename journal file, created if it doesn't exist
+   * @param waitForSync should commits wait until their records are on disk?
+   * @throws IOException if the file could not be opened or is not a journal
+   */
+  public Journal(String filename, boolean waitForSync) throws IOException {
+    this.filename = filename;
+    this.channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    this.waitForSync = waitForSync;
+    this.lock = new Object();
+    this.pending = ByteBuffer.allocate(BATCH_SIZE);
+    this.spare = ByteBuffer.allocate(BATCH_SIZE);
+    try {
+      if (channel.size() == 0) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).flip();
+        channel.write(header);
+        channel.force(true);
+      }
+      long[] last = new long[1];
+      long end = scan(channel, 0, entry -> last[0] = entry.getSequence());
+      if (end < 0) {
+        throw new IOException(filename + " is not a journal");
+      }
+      channel.truncate(end); // drop a record cut short by a crash
+      channel.position(end);
+      this.lastSequence = last[0];
+      this.syncedSequence = last[0];
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public String getFilename() {
+    return filename;
+  }
+
+  public boolean isWaitForSync() {
+    return waitForSync;
+  }
+
+  /**
+   * Returns the sequence number of the last record appended.
+   *
+   * @return last sequence number, 0 if the journal is empty
+   */
+  public long getLastSequence() {
+    synchronized (lock) {
+      return lastSequence;
+    }
+  }
+
+  /**
+   * Returns the IOException that stopped the journal, if any.
+   *
+   * @return the last IOException or null if none occurred
+   */
+  public IOException ioException() {
+    synchronized (lock) {
+      return error;
+    }
+  }
+
+  /**
+   * Adds a record to the journal. It is written by the next sync. Once a write has
+   * failed nothing more can reach the file in order, so the record is dropped.
+   *
+   * @param entry change to be recorded
+   * @return sequence number of the record, or FAILED if the journal has failed
+   */
+  public long append(Entry entry) {
+    long sequence;
+    boolean full;
+    synchronized (lock) {
+      if (error != null) {
+        return FAILED;
+      }
+      sequence = ++lastSequence;
+      byte[] record = entry.encode(sequence);
+      if (pending.remaining() < record.length) {
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2,
+            pending.position() + record.length));
+        pending.flip();
+        pending = larger.put(pending);
+      }
+      pending.put(record);
+      full = pending.position() >= BATCH_SIZE;
+    }
+    if (full && !waitForSync) {
+      sync(sequence);
+    }
+    return sequence;
+  }
+
+  /**
+   * Waits until the record with the given sequence number is on disk. If no other thread
+   * is writing, this thread writes every record appended so far in one group.
+   *
+   * @param sequence sequence number to wait for
+   * @return true if the record is on disk, false if the journal failed
+   */
+  public boolean sync(long sequence) {
+    while (true) {
+      ByteBuffer batch;
+      long upTo;
+      synchronized (lock) {
+        try {
+          while (syncing && syncedSequence < sequence && error == null) {
+            lock.wait();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          error = new InterruptedIOException("interrupted waiting for the journal");
+        }
+        if (error != null) {
+          return false;
+        }
+        if (syncedSequence >= sequence) {
+          return true;
+        }
+        // lead the next group: take everything appended so far
+        syncing = true;
+        batch = pending;
+        pending = spare;
+        upTo = lastSequence;
+      }
+      IOException failure = null;
+      try {
+        batch.flip();
+        while (batch.hasRemaining()) {
+          channel.write(batch);
+        }
+        channel.force(false);
+      } catch (IOException e) {
+        failure = e;
+      }
+      synchronized (lock) {
+        syncing = false;
+        batch.clear();
+        spare = batch;
+        if (failure != null) {
+          error = failure;
+          pending.clear(); // records appended during the write can never follow it
+        } else {
+          syncedSequence = upTo;
+        }
+        lock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Writes every record appended so far to disk.
+   *
+   * @return true if the records are on disk, false if the journal failed
+   */
+  public boolean flush() {
+    return sync(getLastSequence());
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+    channel.close();
+    IOException failure = ioException();
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Reads the records of a journal file in order, stopping at a record cut short.
+   *
+   * @param filename journal file
+   * @param afterSequence only records after this sequence number are passed on
+   * @param apply receives each record
+   * @return sequence number of the last record read, or afterSequence if there were none
+   * @throws IOException if the file could not be read or is not a journal
+   */
+  public static long replay(String filename, long afterSequence, Consumer<Entry> apply)
+      throws IOException {
+    Path path = Paths.get(filename);
+    if (!Files.exists(path)) {
+      return afterSequence;
+    }
+    long[] last = {afterSequence};
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long end = scan(channel, afterSequence, entry -> {
+        apply.accept(entry);
+        last[0] = entry.getSequence();
+      });
+      if (end < 0) {
+        throw new IOException(filename + " is not a journal");
+      }
+    }
+    return last[0];
+  }
+
+  /**
+   * Reads records from the start of a journal until the end or the first damaged record.
+   *
+   * @param channel journal file
+   * @param afterSequence only records after this sequence number are passed on
+   * @param apply receives each record
+   * @return offset after the last good record, or -1 if the header is wrong
+   * @throws IOException if the file could not be read
+   */
+  private static long scan(FileChannel channel, long afterSequence, Consumer<Entry> apply)
+      throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(BATCH_SIZE).limit(0); // nothing read yet
+    channel.position(0);
+    if (!fill(channel, buffer, HEADER_SIZE)
+        || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+      return -1;
+    }
+    long offset = HEADER_SIZE;
+    CRC32 crc = new CRC32();
+    while (fill(channel, buffer, RECORD_HEADER_SIZE)) {
+      int length = buffer.getInt();
+      int checksum = buffer.getInt();
+      if (length < 0 || length > MAX_RECORD_SIZE) {
+        break;
+      }
+      if (length > buffer.capacity()) {
+        ByteBuffer larger = ByteBuffer.allocate(length);
+        buffer = larger.put(buffer).flip();
+      }
+      if (!fill(channel, buffer, length)) {
+        break;
+      }
+      crc.reset();
+      crc.update(buffer.array(), buffer.position(), length);
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+      Entry entry = Entry.decode(buffer.array(), buffer.position(), length);
+      buffer.position(buffer.position() + length);
+      if (entry == null) {
+        break;
+      }
+      if (entry.getSequence() > afterSequence) {
+        apply.accept(entry);
+      }
+      offset += RECORD_HEADER_SIZE + length;
+    }
+    return offset;
+  }
+
+  /**
+   * Makes sure the buffer holds at least the given number of unread bytes.
+   *
+   * @return false if the file ends first
+   */
+  private static boolean fill(FileChannel channel, ByteBuffer buffer, int bytes)
+      throws IOException {
+    while (buffer.remaining() < bytes) {
+      buffer.compact();
+      int read = channel.read(buffer);
+      buffer.flip();
+      if (read < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * One change to a library: what was done, and the book, reader or subject it was done to.
+   */
+  public static class Entry {
+    private final Operation operation;
+    private long sequence;
+    private Book book;
+    private int cardNumber;
+    private String name;
+    private String phone;
+    private String subject;
+    private List<Book> books;
+
+    private Entry(Operation operation) {
+      this.operation = operation;
+    }
+
+    public static Entry addBook(Book book) {
+      Entry entry = new Entry(Operation.ADD_BOOK);
+      entry.book = book;
+      return entry;
+    }
+
+    public static Entry addShelf(String subject) {
+      Entry entry = new Entry(Operation.ADD_SHELF);
+      entry.subject = subject;
+      return entry;
+    }
+
+    public static Entry checkOut(Reader reader, Book book) {
+      Entry entry = new Entry(Operation.CHECK_OUT);
+      entry.cardNumber = reader.getCardNumber();
+      entry.book = onLoan(reader, book);
+      return entry;
+    }
+
+    public static Entry returnBook(Reader reader, Book book) {
+      Entry entry = new Entry(Operation.RETURN);
+      entry.cardNumber = reader.getCardNumber();
+      entry.book = book;
+      return entry;
+    }
+
+    public static Entry returnToShelf(Book book) {
+      Entry entry = new Entry(Operation.RETURN_TO_SHELF);
+      entry.book = book;
+      return entry;
+    }
+
+    public static Entry addReader(Reader reader) {
+      Entry entry = new Entry(Operation.ADD_READER);
+      entry.cardNumber = reader.getCardNumber();
+      entry.name = reader.getName();
+      entry.phone = reader.getPhone();
+      entry.books = new ArrayList<>(reader.getBookCount());
+      for (Book book : reader.getBooks()) {
+        entry.books.add(onLoan(reader, book));
+      }
+      return entry;
+    }
+
+    /**
+     * Returns the book as the reader has it, due back on the date of the reader's loan.
+     *
+     * @param reader reader who has the book
+     * @param book book on loan
+     * @return a copy of the book with the loan's due date, or the book if it isn't on loan
+     */
+    private static Book onLoan(Reader reader, Book book) {
+      Loan loan = reader.getLoan(book);
+      if (loan == null || loan.getDueDate() == book.getDueDate()) {
+        return book;
+      }
+      return new Book(book.getKey(), loan.getDueDate());
+    }
+
+    public static Entry removeReader(Reader reader) {
+      Entry entry = new Entry(Operation.REMOVE_READER);
+      entry.cardNumber = reader.getCardNumber();
+      return entry;
+    }
+
+    public Operation getOperation() {
+      return operation;
+    }
+
+    public long getSequence() {
+      return sequence;
+    }
+
+    public Book getBook() {
+      return book;
+    }
+
+    public int getCardNumber() {
+      return cardNumber;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getPhone() {
+      return phone;
+    }
+
+    public String getSubject() {
+      return subject;
+    }
+
+    public List<Book> getBooks() {
+      return books;
+    }
+
+    /**
+     * Encodes the entry as a journal record: its length, its checksum, then the entry.
+     *
+     * @param sequence sequence number of the record
+     * @return the record
+     */
+    byte[] encode(long sequence) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+      try (DataOutputStream out = new DataOutputStream(bytes)) {
+        out.writeInt(0); // length and checksum, filled in below
+        out.writeInt(0);
+        out.writeLong(sequence);
+        out.writeByte(operation.ordinal());
+        switch (operation) {
+          case ADD_SHELF:
+            writeString(out, subject);
+            break;
+          case ADD_READER:
+            out.writeInt(cardNumber);
+            writeString(out, name);
+            writeString(out, phone);
+            out.writeInt(books.size());
+            for (Book loan : books) {
+              writeBook(out, loan);
+            }
+            break;
+          case REMOVE_READER:
+            out.writeInt(cardNumber);
+            break;
+          case CHECK_OUT:
+          case RETURN:
+            out.writeInt(cardNumber);
+            writeBook(out, book);
+            break;
+          default:
+            writeBook(out, book);
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException(e); // not thrown by a ByteArrayOutputStream
+      }
+      byte[] record = bytes.toByteArray();
+      int length = record.length - RECORD_HEADER_SIZE;
+      CRC32 crc = new CRC32();
+      crc.update(record, RECORD_HEADER_SIZE, length);
+      ByteBuffer.wrap(record).putInt(length).putInt((int) crc.getValue());
+      return record;
+    }
+
+    /**
+     * Decodes an entry from the body of a journal record.
+     *
+     * @return the entry or null if the record is not a valid entry
+     */
+    static Entry decode(byte[] record, int offset, int length) {
+      DataInputStream in = new DataInputStream(
+          new ByteArrayInputStream(record, offset, length));
+      try {
+        long sequence = in.readLong();
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= Operation.values().length) {
+          return null;
+        }
+        Entry entry = new Entry(Operation.values()[ordinal]);
+        entry.sequence = sequence;
+        switch (entry.operation) {
+          case ADD_SHELF:
+            entry.subject = readString(in);
+            break;
+          case ADD_READER:
+            entry.cardNumber = in.readInt();
+            entry.name = readString(in);
+            entry.phone = readString(in);
+            int count = in.readInt();
+            if (count < 0 || count > in.available()) {
+              return null;
+            }
+            entry.books = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+              entry.books.add(readBook(in));
+            }
+            break;
+          case REMOVE_READER:
+            entry.cardNumber = in.readInt();
+            break;
+          case CHECK_OUT:
+          case RETURN:
+            entry.cardNumber = in.readInt();
+            entry.book = readBook(in);
+            break;
+          default:
+            entry.book = readBook(in);
+        }
+        return entry;
+      } catch (IOException | RuntimeException e) {
+        return null;
+      }
+    }
+
+    private static void writeBook(DataOutputStream out, Book book) throws IOException {
+      CatalogKey key = book.getKey(); // the identity the library files the book under
+      writeString(out, key.getIsbn());
+      writeString(out, key.getTitle());
+      writeString(out, key.getSubject());
+      out.writeInt(key.getPageCount());
+      writeString(out, key.getAuthor());
+      out.writeLong(book.getDueDate() == null ? Long.MIN_VALUE : book.getDueDate().toEpochDay());
+    }
+
+    private static Book readBook(DataInputStream in) throws IOException {
+      String isbn = readString(in);
+      String title = readString(in);
+      String subject = readString(in);
+      int pageCount = in.readInt();
+      String author = readString(in);
+      long dueDate = in.readLong();
+      return new Book(isbn, title, subject, pageCount, author,
+          dueDate == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(dueDate));
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+      byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+      int length = in.readInt();
+      if (length < 0 || length > in.available()) {
+        throw new EOFException();
+      }
+      byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+}
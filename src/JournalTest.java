@@ -0,0 +1,165 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: JournalTest.java
+ * Abstract: Tests the Journal class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class JournalTest {
+
+  static final int THREADS = 8;
+  static final int RECORDS = 200;
+
+  File file;
+  Book book;
+  Reader reader;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    file = File.createTempFile("journal", ".log");
+    file.deleteOnExit();
+    book = new Book("42-w-87", "Hitchhikers Guide To the Galaxy", "sci-fi",
+        42, "Douglas Adams", LocalDate.of(1970, 1, 1));
+    reader = new Reader(1, "Drew Clinkenbeard", "831-582-4007");
+    reader.addBook(book);
+  }
+
+  @AfterEach
+  void tearDown() {
+    file.delete();
+    file = null;
+    book = null;
+    reader = null;
+  }
+
+  @Test
+  void appendAndReplay() throws IOException {
+    try (Journal journal = new Journal(file.getPath())) {
+      assertEquals(1, journal.append(Journal.Entry.addShelf("sci-fi")));
+      assertEquals(2, journal.append(Journal.Entry.addBook(book)));
+      assertEquals(3, journal.append(Journal.Entry.addReader(reader)));
+      assertEquals(4, journal.append(Journal.Entry.checkOut(reader, book)));
+      assertTrue(journal.sync(4));
+    }
+
+    List<Journal.Entry> entries = new ArrayList<>();
+    assertEquals(4, Journal.replay(file.getPath(), 0, entries::add));
+    assertEquals(Journal.Operation.ADD_SHELF, entries.get(0).getOperation());
+    assertEquals("sci-fi", entries.get(0).getSubject());
+    assertEquals(book, entries.get(1).getBook());
+    assertEquals(book.getDueDate(), entries.get(1).getBook().getDueDate());
+    assertEquals(reader, new Reader(entries.get(2).getCardNumber(), entries.get(2).getName(),
+        entries.get(2).getPhone()));
+    assertEquals(reader.getBooks(), entries.get(2).getBooks());
+    assertEquals(Journal.Operation.CHECK_OUT, entries.get(3).getOperation());
+    assertEquals(1, entries.get(3).getCardNumber());
+
+    entries.clear();
+    assertEquals(4, Journal.replay(file.getPath(), 2, entries::add));
+    assertEquals(2, entries.size());
+    assertEquals(3, entries.get(0).getSequence());
+
+    // reopening continues the numbering
+    try (Journal journal = new Journal(file.getPath())) {
+      assertEquals(4, journal.getLastSequence());
+      assertEquals(5, journal.append(Journal.Entry.returnToShelf(book)));
+    }
+    assertEquals(5, Journal.replay(file.getPath(), 0, entry -> { }));
+  }
+
+  @Test
+  void tornRecord() throws IOException {
+    try (Journal journal = new Journal(file.getPath())) {
+      journal.append(Journal.Entry.addBook(book));
+      journal.append(Journal.Entry.returnBook(reader, book));
+    }
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 1));
+    assertEquals(1, Journal.replay(file.getPath(), 0, entry -> { }));
+
+    // opening drops the torn record so new records follow the last good one
+    try (Journal journal = new Journal(file.getPath(), false)) {
+      assertEquals(1, journal.getLastSequence());
+      assertEquals(2, journal.append(Journal.Entry.removeReader(reader)));
+    }
+    List<Journal.Entry> entries = new ArrayList<>();
+    Journal.replay(file.getPath(), 0, entries::add);
+    assertEquals(Journal.Operation.REMOVE_READER, entries.get(1).getOperation());
+
+    // a damaged record ends the journal
+    bytes = Files.readAllBytes(file.toPath());
+    bytes[bytes.length - 2] ^= 1;
+    Files.write(file.toPath(), bytes);
+    assertEquals(1, Journal.replay(file.getPath(), 0, entry -> { }));
+
+    Files.write(file.toPath(), "9\n".getBytes());
+    assertThrows(IOException.class, () -> new Journal(file.getPath()));
+  }
+
+  @Test
+  void failedWrite() throws IOException {
+    Journal journal = new Journal(file.getPath(), false);
+    journal.close();
+    assertEquals(1, journal.append(Journal.Entry.addShelf("sci-fi")));
+    assertFalse(journal.flush()); // the channel is closed
+    assertNotNull(journal.ioException());
+    // once failed, records are refused rather than gathered
+    for (int i = 0; i < RECORDS; i++) {
+      assertEquals(Journal.FAILED, journal.append(Journal.Entry.addBook(book)));
+    }
+    assertEquals(1, journal.getLastSequence());
+    assertFalse(journal.sync(Journal.FAILED));
+  }
+
+  @Test
+  void groupCommit() throws IOException, InterruptedException {
+    Journal journal = new Journal(file.getPath());
+    List<Thread> threads = new ArrayList<>();
+    List<Throwable> failures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      Thread thread = new Thread(() -> {
+        try {
+          for (int i = 0; i < RECORDS; i++) {
+            assertTrue(journal.sync(journal.append(Journal.Entry.returnToShelf(book))));
+          }
+        } catch (Throwable e) {
+          synchronized (failures) {
+            failures.add(e);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    journal.close();
+    assertTrue(failures.isEmpty(), failures.toString());
+    assertNull(journal.ioException());
+
+    // every record is there once, in sequence order
+    long[] expected = {1};
+    assertEquals(THREADS * RECORDS, Journal.replay(file.getPath(), 0,
+        entry -> assertEquals(expected[0]++, entry.getSequence())));
+  }
+}
@@ -0,0 +1,140 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Title: LatencyHistogram.java
+ * Abstract: Counts how long operations took, in nanoseconds, in buckets of log-linear
+ *           width: exact up to 64ns, then 32 buckets for every doubling, so a percentile
+ *           read back is within about 3% of the true value from nanoseconds up to
+ *           minutes. Recording finds the bucket with a few shifts and increments it
+ *           atomically, so any number of threads record at once without a lock and the
+ *           cost does not depend on how many values were recorded. Reading walks the
+ *           1152 buckets.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://github.com/HdrHistogram/HdrHistogram
+ *             https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/atomic/AtomicLongArray.html
+ */
+
+public class LatencyHistogram {
+
+  public static final int SUB_BITS = 6;
+  public static final int MAX_BITS = 40; // longer values count as about 18 minutes
+
+  private static final int LINEAR = 1 << SUB_BITS;  // values counted exactly
+  private static final int HALF = LINEAR / 2;       // buckets per doubling above that
+  private static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+  private static final int BUCKETS = bucket(MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts;
+  private final LongAdder total;      // sum of the values, for the mean
+  private final LongAccumulator max;
+
+  public LatencyHistogram() {
+    this.counts = new AtomicLongArray(BUCKETS);
+    this.total = new LongAdder();
+    this.max = new LongAccumulator(Math::max, 0);
+  }
+
+  /**
+   * Counts a value. Safe to call from any thread.
+   *
+   * @param nanos time an operation took; negative times count as 0
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+    counts.incrementAndGet(bucket(value));
+    total.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Returns the number of values counted.
+   *
+   * @return values recorded since the histogram was made or reset
+   */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns the mean of the values counted.
+   *
+   * @return mean in nanoseconds, or 0 if nothing was recorded
+   */
+  public double getMean() {
+    long count = getCount();
+    return count == 0 ? 0 : (double) total.sum() / count;
+  }
+
+  /**
+   * Returns the value at a percentile.
+   *
+   * @param percentile percentage of the values at or below the one wanted, such as 99.9
+   * @return highest value in the bucket holding that percentile, or 0 if nothing was recorded
+   */
+  public long getPercentile(double percentile) {
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(count * Math.min(percentile, 100) / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highest(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Forgets every value counted. Values recorded while resetting may or may not be kept.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    total.reset();
+    max.reset();
+  }
+
+  /**
+   * Finds the bucket of a value: the value itself below LINEAR, otherwise HALF buckets
+   * for each doubling, chosen by the bits after the highest one.
+   */
+  static int bucket(long value) {
+    if (value < LINEAR) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+    return LINEAR + (shift - 1) * HALF + (int) (value >>> shift) - HALF;
+  }
+
+  /**
+   * Returns the highest value that falls in a bucket.
+   */
+  static long highest(int bucket) {
+    if (bucket < LINEAR) {
+      return bucket;
+    }
+    int shift = (bucket - LINEAR) / HALF + 1;
+    long top = (bucket - LINEAR) % HALF + HALF;
+    return ((top + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: LatencyHistogramTest.java
+ * Abstract: Tests the LatencyHistogram class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class LatencyHistogramTest {
+
+  LatencyHistogram histogram;
+
+  @BeforeEach
+  void setUp() {
+    histogram = new LatencyHistogram();
+  }
+
+  @AfterEach
+  void tearDown() {
+    histogram = null;
+  }
+
+  @Test
+  void buckets() {
+    // every value falls in a bucket whose highest value is at or above it and within 1/32
+    int last = -1;
+    for (long value = 0; value < 1L << LatencyHistogram.MAX_BITS; value = value * 9 / 8 + 1) {
+      int bucket = LatencyHistogram.bucket(value);
+      assertTrue(bucket >= last);
+      last = bucket;
+      long highest = LatencyHistogram.highest(bucket);
+      assertTrue(highest >= value);
+      assertTrue(highest - value <= value / 32, value + " in bucket up to " + highest);
+      assertEquals(bucket, LatencyHistogram.bucket(highest));
+      assertEquals(bucket + 1, LatencyHistogram.bucket(highest + 1));
+    }
+  }
+
+  @Test
+  void percentiles() {
+    assertEquals(0, histogram.getPercentile(99));
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L); // 1us to 1ms
+    }
+    assertEquals(1000, histogram.getCount());
+    assertEquals(500_000, histogram.getPercentile(50), 500_000 / 32);
+    assertEquals(990_000, histogram.getPercentile(99), 990_000 / 32);
+    assertEquals(1_000_000, histogram.getPercentile(99.9), 1_000_000 / 32);
+    assertEquals(1_000_000, histogram.getPercentile(100));
+    assertEquals(1_000_000, histogram.getMax());
+    assertEquals(500_500, histogram.getMean(), 0.001);
+
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(0, histogram.getPercentile(0));
+    assertEquals((1L << LatencyHistogram.MAX_BITS) - 1, histogram.getMax());
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  void threads() throws InterruptedException {
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < 100_000; i++) {
+          histogram.record(i % 1000);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(400_000, histogram.getCount());
+    assertEquals(999, histogram.getMax());
+  }
+}
@@ -1,11 +1,27 @@
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Title: Library.java
@@ -23,9 +39,24 @@ public class Library {
 
   private String name;
   private static int libraryCard = 0;
-  private List<Reader> readers;
-  private HashMap<String, Shelf> shelves;
-  private HashMap<Book, Integer> books;
+  private IntHashMap<Reader> readers;
+  private Map<String, Shelf> shelves;
+  private IntHashMap<Shelf> shelfNumbers;
+  private int lastShelfNumber;
+  private Map<Book, Integer> books;
+  private Map<String, Book> isbnIndex;
+  private Map<String, List<Book>> subjectIndex;
+  private Map<String, List<Book>> authorIndex;
+  private List<Book> titles; // in the order they were added, for listings
+  private LoanIndex loanIndex;
+  private OverdueSweeper sweeper;
+  private TitleIndex titleIndex;
+  private LibraryMetrics metrics;
+  private EventSink events;
+  private boolean listOnInit;
+  private Journal journal;
+  private final boolean concurrent;
+  private long journalSequence;
 
   /**
    * Constructs library object with given name.
@@ -33,10 +64,144 @@ public class Library {
    * @param name name of the library to be constructed
    */
   public Library(String name) {
+    this(name, false);
+  }
+
+  /**
+   * Constructs library object with given name, using maps that can be read
+   * while other threads update them if the library will be shared.
+   *
+   * @param name name of the library to be constructed
+   * @param concurrent will the library be used from several threads?
+   */
+  protected Library(String name, boolean concurrent) {
     this.name = name;
-    this.readers = new ArrayList<>();
-    this.shelves = new HashMap<>();
-    this.books = new HashMap<>();
+    this.concurrent = concurrent;
+    this.readers = new IntHashMap<>();
+    this.shelves = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    this.shelfNumbers = new IntHashMap<>();
+    this.lastShelfNumber = 0;
+    this.books = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    this.isbnIndex = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    this.subjectIndex = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    this.authorIndex = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    this.titles = newTitleList();
+    this.loanIndex = new LoanIndex(concurrent);
+    this.events = EventSink.CONSOLE;
+    this.listOnInit = true;
+  }
+
+  public EventSink getEventSink() {
+    return events;
+  }
+
+  /**
+   * Sends this library's events, and those of its shelves, to the given sink
+   *
+   * @param events sink to receive events
+   */
+  public void setEventSink(EventSink events) {
+    this.events = events;
+    for (Shelf shelf : shelves.values()) {
+      shelf.setEventSink(events);
+    }
+  }
+
+  public boolean isListOnInit() {
+    return listOnInit;
+  }
+
+  /**
+   * Sets whether init prints the books, shelves and readers it loaded
+   *
+   * @param listOnInit should init list what it loaded?
+   */
+  public void setListOnInit(boolean listOnInit) {
+    this.listOnInit = listOnInit;
+  }
+
+  public OverdueSweeper getOverdueSweeper() {
+    return sweeper;
+  }
+
+  /**
+   * Raises an event through the given sweeper when each loan becomes overdue. Loans already
+   * made are handed to the sweeper from the loan index, and taken from the sweeper it replaces.
+   * Set the sweeper before the library is shared between threads.
+   *
+   * @param sweeper sweeper to watch the library's loans or null to stop watching them
+   */
+  public void setOverdueSweeper(OverdueSweeper sweeper) {
+    for (Loan loan : loanIndex.getLoans()) {
+      if (this.sweeper != null) {
+        this.sweeper.cancel(loan);
+      }
+      if (sweeper != null) {
+        sweeper.schedule(loan);
+      }
+    }
+    this.sweeper = sweeper;
+  }
+
+  public TitleIndex getTitleIndex() {
+    return titleIndex;
+  }
+
+  /**
+   * Keeps a full text index of every title and author so search can find books by word.
+   * Titles already in the library are added now and later ones as they are added.
+   * Set the index before the library is shared between threads.
+   *
+   * @param titleIndex empty index to be kept or null to stop keeping one
+   */
+  public void setTitleIndex(TitleIndex titleIndex) {
+    if (titleIndex != null) {
+      for (Book book : books.keySet()) {
+        titleIndex.add(book);
+      }
+    }
+    this.titleIndex = titleIndex;
+  }
+
+  public LibraryMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Counts and times the library's operations from now on, or stops if given null.
+   * Set the metrics before the library is shared between threads.
+   *
+   * @param metrics metrics to record to or null to record nothing
+   */
+  public void setMetrics(LibraryMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  public Journal getJournal() {
+    return journal;
+  }
+
+  /**
+   * Records every later change to the library's books, shelves, readers and loans in
+   * the given journal, so recover can redo them after a crash. init and loadSnapshot
+   * are not journaled; save a snapshot after them and attach the journal then.
+   *
+   * @param journal journal to record changes in or null to stop journaling
+   */
+  public void setJournal(Journal journal) {
+    if (this.journal != null) {
+      journalSequence = this.journal.getLastSequence();
+    }
+    this.journal = journal;
+  }
+
+  /**
+   * Returns the sequence number of the last journal record reflected in the library
+   *
+   * @return last journal sequence number, 0 if none
+   */
+  public long getJournalSequence() {
+    return journal != null ? journal.getLastSequence() : journalSequence;
   }
 
   /**
@@ -46,62 +211,423 @@ public class Library {
    * @return success or appropriate error code
    */
   public Code init(String filename) {
-    File file = new File(filename);
+    long start = startTiming();
+    LibraryFlightEvents.Init event = new LibraryFlightEvents.Init();
+    event.begin();
+    Journal attached = journal;
+    journal = null; // init is not journaled
+    try (CsvReader csv = new CsvReader(filename)) {
+      return measure(LibraryMetrics.Operation.INIT, start, event.finish(filename, init(csv)));
+    } catch (IOException e) {
+      emit(LibraryEvent.FILE_NOT_FOUND, e, null);
+      return measure(LibraryMetrics.Operation.INIT, start,
+          event.finish(filename, Code.FILE_NOT_FOUND_ERROR));
+    } finally {
+      journal = attached;
+    }
+  }
+
+  /**
+   * Writes the library's books, shelves and readers to a CSV file that init reads back
+   * into the same library, except that shelves are numbered again from 1 in number order.
+   * The file is replaced only once the whole library is written.
+   * A shared library must not be used by other threads while this runs.
+   *
+   * @param filename name of file to be written
+   * @return success or appropriate error code
+   */
+  public Code exportCsv(String filename) {
+    Path target = Paths.get(filename).toAbsolutePath();
+    Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+    try {
+      try (CsvWriter csv = new CsvWriter(new OutputStreamWriter(
+          Files.newOutputStream(temporary), StandardCharsets.UTF_8))) {
+        writeCsv(csv);
+      }
+      Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      return Code.SUCCESS;
+    } catch (IOException e) {
+      try {
+        Files.deleteIfExists(temporary);
+      } catch (IOException ignored) {
+        // the export already failed
+      }
+      emit(LibraryEvent.EXPORT_FAILED, filename, e.getMessage());
+      return Code.EXPORT_ERROR;
+    }
+  }
+
+  /**
+   * Writes the library's books, shelves and readers in the CSV layout init reads.
+   * A shared library must not be used by other threads while this runs.
+   *
+   * @param out destination of the CSV text, flushed and left open
+   * @return success or appropriate error code
+   */
+  public Code exportCsv(Writer out) {
+    try {
+      CsvWriter csv = new CsvWriter(out);
+      writeCsv(csv);
+      csv.flush();
+      return Code.SUCCESS;
+    } catch (IOException e) {
+      emit(LibraryEvent.EXPORT_FAILED, out, e.getMessage());
+      return Code.EXPORT_ERROR;
+    }
+  }
+
+  /**
+   * Writes the books section (one line per copy), the shelves section and the readers
+   * section with each reader's loans and due dates, record by record. Shelves are written
+   * in number order, but init numbers them again from 1, so numbers left unused by a
+   * replaced shelf are not kept: the shelves read back in the same order, numbered
+   * without gaps.
+   *
+   * @param csv destination of the records
+   * @throws IOException if a record could not be written
+   */
+  private void writeCsv(CsvWriter csv) throws IOException {
+    int copies = 0;
+    for (int count : books.values()) {
+      copies += count;
+    }
+    csv.count(copies);
+    for (Map.Entry<Book, Integer> entry : books.entrySet()) {
+      Book book = entry.getKey();
+      for (int i = 0; i < entry.getValue(); i++) {
+        csv.field(book.getIsbn()).field(book.getTitle()).field(book.getSubject())
+            .field(book.getPageCount()).field(book.getAuthor()).field(book.getDueDate());
+        csv.endRecord();
+      }
+    }
+
+    List<Shelf> numbered = new ArrayList<>(shelfNumbers.size());
+    for (Shelf shelf : shelfNumbers) {
+      numbered.add(shelf);
+    }
+    numbered.sort(Comparator.comparingInt(Shelf::getShelfNumber));
+    csv.count(numbered.size());
+    for (Shelf shelf : numbered) {
+      csv.field(shelf.getShelfNumber()).field(shelf.getSubject());
+      csv.endRecord();
+    }
+
+    csv.count(readers.size());
+    for (Reader reader : readers) {
+      csv.field(reader.getCardNumber()).field(reader.getName()).field(reader.getPhone())
+          .field(reader.getBookCount());
+      for (Book book : reader.getBooks()) {
+        csv.field(book.getIsbn()).field(reader.getDueDate(book));
+      }
+      csv.endRecord();
+    }
+  }
+
+  /**
+   * Writes the library's books, shelves, readers and loans to a binary snapshot.
+   * A shared library must not be used by other threads while this runs.
+   *
+   * @param filename name of file to be written
+   * @return success or appropriate error code
+   */
+  public Code saveSnapshot(String filename) {
+    try {
+      new LibrarySnapshot(lastShelfNumber, getJournalSequence(), books, shelfNumbers, readers)
+          .write(filename);
+      return Code.SUCCESS;
+    } catch (IOException e) {
+      emit(LibraryEvent.SNAPSHOT_FAILED, filename, e);
+      return Code.SNAPSHOT_ERROR;
+    }
+  }
 
-    Scanner scan = null;
+  /**
+   * Replaces the library's contents with those of a snapshot written by saveSnapshot.
+   * Loans are restored as they were saved, without checking them out again.
+   * The library is left unchanged if the snapshot can't be read.
+   * A shared library must not be used by other threads while this runs.
+   *
+   * @param filename name of file to be read
+   * @return success or appropriate error code
+   */
+  public Code loadSnapshot(String filename) {
+    LibrarySnapshot snapshot = new LibrarySnapshot();
+    Code code;
+    try {
+      code = snapshot.read(filename, this::newShelf);
+    } catch (IOException e) {
+      emit(LibraryEvent.FILE_NOT_FOUND, e, null);
+      return Code.FILE_NOT_FOUND_ERROR;
+    }
+    if (code != Code.SUCCESS) {
+      emit(LibraryEvent.SNAPSHOT_FAILED, filename, code.getMessage());
+      return code;
+    }
+    restore(snapshot);
+    return Code.SUCCESS;
+  }
 
+  /**
+   * Restores a snapshot, then redoes the journal records written after it, bringing
+   * the library back to where it was when the last record was written. Records cut
+   * short by a crash are ignored, and so is everything after them.
+   * A shared library must not be used by other threads while this runs.
+   *
+   * @param snapshotFile snapshot written by saveSnapshot
+   * @param journalFile journal the library recorded its changes in
+   * @return success or appropriate error code
+   */
+  public Code recover(String snapshotFile, String journalFile) {
+    Code code = loadSnapshot(snapshotFile);
+    if (code != Code.SUCCESS) {
+      return code;
+    }
+    Journal attached = journal;
+    journal = null; // redone changes are already in the journal
     try {
-      scan = new Scanner(file);
-    } catch (FileNotFoundException e) {
-      System.out.println("could not find the file " + e);
+      journalSequence = Journal.replay(journalFile, journalSequence, this::apply);
+      return Code.SUCCESS;
+    } catch (IOException e) {
+      emit(LibraryEvent.FILE_NOT_FOUND, e, null);
       return Code.FILE_NOT_FOUND_ERROR;
+    } finally {
+      journal = attached;
+    }
+  }
+
+  /**
+   * Redoes a change read from the journal
+   *
+   * @param entry change to be redone
+   */
+  private void apply(Journal.Entry entry) {
+    Reader reader = readers.get(entry.getCardNumber());
+    switch (entry.getOperation()) {
+      case ADD_BOOK:
+        addBook(entry.getBook());
+        break;
+      case ADD_SHELF:
+        Shelf shelf = newShelf();
+        shelf.setSubject(entry.getSubject());
+        addShelf(shelf);
+        break;
+      case CHECK_OUT:
+        if (reader != null) {
+          checkOutBook(reader, entry.getBook());
+        }
+        break;
+      case RETURN:
+        if (reader != null) {
+          returnBook(reader, entry.getBook());
+        }
+        break;
+      case RETURN_TO_SHELF:
+        returnBook(entry.getBook());
+        break;
+      case ADD_READER:
+        reader = new Reader(entry.getCardNumber(), entry.getName(), entry.getPhone());
+        reader.setBooks(entry.getBooks());
+        addReader(reader);
+        break;
+      case REMOVE_READER:
+        if (reader != null) {
+          removeReader(reader);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Replaces the library's contents with those of a snapshot that was read successfully
+   *
+   * @param snapshot snapshot to be restored
+   */
+  protected void restore(LibrarySnapshot snapshot) {
+    books.clear();
+    isbnIndex.clear();
+    subjectIndex.clear();
+    authorIndex.clear();
+    titles.clear();
+    if (titleIndex != null) {
+      titleIndex.clear();
     }
+    for (Map.Entry<Book, Integer> entry : snapshot.getBooks().entrySet()) {
+      books.put(entry.getKey(), entry.getValue());
+      indexTitle(entry.getKey());
+    }
+    shelves.clear();
+    shelfNumbers.clear();
+    for (Shelf shelf : snapshot.getShelves()) {
+      shelf.setEventSink(events);
+      shelves.put(shelf.getSubject(), shelf);
+      shelfNumbers.put(shelf.getShelfNumber(), shelf);
+    }
+    lastShelfNumber = snapshot.getLastShelfNumber();
+    journalSequence = snapshot.getJournalSequence();
+    readers.clear();
+    if (sweeper != null) {
+      for (Loan loan : loanIndex.getLoans()) {
+        sweeper.cancel(loan);
+      }
+    }
+    loanIndex.clear();
+    for (Reader reader : snapshot.getReaders()) {
+      readers.put(reader.getCardNumber(), reader);
+      startLoans(reader);
+      if (reader.getCardNumber() > libraryCard) { // new cards follow the restored ones
+        libraryCard = reader.getCardNumber();
+      }
+    }
+  }
 
+  /**
+   * Populates library with the books, shelves and readers sections of a CSV file
+   *
+   * @param csv reader positioned at the start of the file
+   * @return success or appropriate error code
+   */
+  private Code init(CsvReader csv) {
     // get number of books to be parsed
     int numToParse = 0;
-    if (scan != null && scan.hasNext()) {
-      numToParse = convertInt(scan.nextLine(), Code.BOOK_COUNT_ERROR);
+    if (csv.hasNext() && csv.next()) {
+      numToParse = convertInt(csv.line(), Code.BOOK_COUNT_ERROR);
     }
 
     if (numToParse < 0) { // if error when converting, return error
       return errorCode(numToParse);
     }
 
-    if (scan != null && scan.hasNext()) {
-      initBooks(numToParse, scan);
+    if (csv.hasNext()) {
+      long start = startTiming();
+      LibraryFlightEvents.InitPhase event = new LibraryFlightEvents.InitPhase();
+      event.begin();
+      Code code = initBooks(numToParse, csv);
+      measure(LibraryMetrics.Operation.INIT_BOOKS, start, event.finish("books", numToParse, code));
     }
 
-    listBooks();
+    return initShelvesAndReaders(numToParse, csv);
+  }
+
+  /**
+   * Populates library with data from a CSV file, parsing the book section
+   * in parallel on the common fork/join pool
+   *
+   * @param filename name of file to be read
+   * @return success or appropriate error code
+   */
+  public Code initParallel(String filename) {
+    return initParallel(filename, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Populates library with data from a CSV file, parsing the book section
+   * in parallel on the given fork/join pool. Leaves the library in the same
+   * state as init. If the book section has an error the file is read again
+   * by init, one line at a time, so the error is reported the same way.
+   *
+   * @param filename name of file to be read
+   * @param pool pool to parse the book section on
+   * @return success or appropriate error code
+   */
+  public Code initParallel(String filename, ForkJoinPool pool) {
+    long start = startTiming();
+    LibraryFlightEvents.Init event = new LibraryFlightEvents.Init();
+    event.begin();
+    Journal attached = journal;
+    journal = null; // init is not journaled
+    try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+      long booksStart = startTiming();
+      LibraryFlightEvents.InitPhase books = new LibraryFlightEvents.InitPhase();
+      books.begin();
+      ParallelBookLoader loader = new ParallelBookLoader(channel, pool);
+      if (!loader.load()) {
+        // let init parse the file and handle its errors
+        channel.position(0);
+        Code code = init(new CsvReader(channel));
+        return measure(LibraryMetrics.Operation.INIT, start, event.finish(filename, code));
+      }
+
+      emit(LibraryEvent.PARSING_BOOKS, loader.getBookCount());
+      StringPool strings = new StringPool(); // chunks pool their strings separately
+      for (Map<Book, Integer> chunk : loader.getChunks()) { // merge chunks in file order
+        for (Map.Entry<Book, Integer> entry : chunk.entrySet()) {
+          addCopies(entry.getKey(), entry.getValue(), strings);
+        }
+      }
+      // the book phase is parsing the section in parallel and merging the chunks
+      measure(LibraryMetrics.Operation.INIT_BOOKS, booksStart,
+          books.finish("books", loader.getBookCount(), Code.SUCCESS));
+
+      channel.position(loader.getSectionEnd());
+      Code code = initShelvesAndReaders(loader.getBookCount(), new CsvReader(channel));
+      return measure(LibraryMetrics.Operation.INIT, start, event.finish(filename, code));
+    } catch (IOException e) {
+      emit(LibraryEvent.FILE_NOT_FOUND, e, null);
+      return measure(LibraryMetrics.Operation.INIT, start,
+          event.finish(filename, Code.FILE_NOT_FOUND_ERROR));
+    } finally {
+      journal = attached;
+    }
+  }
+
+  /**
+   * Populates library with the shelves and readers sections of a CSV file
+   *
+   * @param numToParse number of books parsed before the shelves
+   * @param csv reader positioned after the book section
+   * @return success or appropriate error code
+   */
+  private Code initShelvesAndReaders(int numToParse, CsvReader csv) {
+    if (listOnInit) {
+      listBooks();
+    }
 
     // get number of shelves to be parsed
-    if (scan != null && scan.hasNext()) {
-      numToParse = convertInt(scan.nextLine(), Code.SHELF_COUNT_ERROR);
+    if (csv.hasNext() && csv.next()) {
+      numToParse = convertInt(csv.line(), Code.SHELF_COUNT_ERROR);
     }
 
     if (numToParse < 0) { // if error when converting, return error
       return errorCode(numToParse);
     }
 
-    if (scan != null && scan.hasNext()) {
-      initShelves(numToParse, scan);
+    if (csv.hasNext()) {
+      long start = startTiming();
+      LibraryFlightEvents.InitPhase event = new LibraryFlightEvents.InitPhase();
+      event.begin();
+      Code code = initShelves(numToParse, csv);
+      measure(LibraryMetrics.Operation.INIT_SHELVES, start,
+          event.finish("shelves", numToParse, code));
     }
 
-    listShelves(true);
+    if (listOnInit) {
+      listShelves(true);
+    }
 
     // get number of readers to be parsed
-    if (scan != null && scan.hasNext()) {
-      numToParse = convertInt(scan.nextLine(), Code.READER_COUNT_ERROR);
+    if (csv.hasNext() && csv.next()) {
+      numToParse = convertInt(csv.line(), Code.READER_COUNT_ERROR);
     }
 
     if (numToParse < 0) { // if error when converting, return error
       return errorCode(numToParse);
     }
 
-    if (scan != null && scan.hasNext()) {
-      initReader(numToParse, scan);
+    if (csv.hasNext()) {
+      long start = startTiming();
+      LibraryFlightEvents.InitPhase event = new LibraryFlightEvents.InitPhase();
+      event.begin();
+      Code code = initReader(numToParse, csv);
+      measure(LibraryMetrics.Operation.INIT_READERS, start,
+          event.finish("readers", numToParse, code));
     }
 
-    listReaders(true);
+    if (listOnInit) {
+      listReaders(true);
+    }
 
     return Code.SUCCESS;
   }
@@ -110,62 +636,79 @@ public class Library {
    * Parse all books from a CSV file and initialize them in the library
    *
    * @param bookCount number of books to be parsed
-   * @param scan current position in CSV file
+   * @param csv current position in CSV file
    * @return success or appropriate error code
    */
-  private Code initBooks(int bookCount, Scanner scan) {
+  private Code initBooks(int bookCount, CsvReader csv) {
     if (bookCount < 1) {            // ensure there are books to parse
       return Code.LIBRARY_ERROR;
     }
 
-    System.out.println("parsing " + bookCount + " books");
-    String[] bookToParse;
-    for (int i = 0; i < bookCount && scan != null && scan.hasNext(); i++) { // for each book
-      bookToParse = scan.nextLine().split(","); // parse data to be processed
-
+    emit(LibraryEvent.PARSING_BOOKS, bookCount);
+    StringPool strings = new StringPool(); // subjects and authors repeat across titles
+    for (int i = 0; i < bookCount && csv.next(); i++) { // for each book
       // convert page count
-      int pageCount = convertInt(bookToParse[Book.PAGE_COUNT_], Code.PAGE_COUNT_ERROR);
+      int pageCount = convertInt(csv, Book.PAGE_COUNT_, Code.PAGE_COUNT_ERROR);
       if (pageCount < 0) {
         return Code.PAGE_COUNT_ERROR;
       }
 
       // convert due date
-      LocalDate dueDate = convertDate(bookToParse[Book.DUE_DATE_], Code.DATE_CONVERSION_ERROR);
+      LocalDate dueDate = convertDate(csv, Book.DUE_DATE_, Code.DATE_CONVERSION_ERROR);
       if (dueDate == null) {
         return Code.DATE_CONVERSION_ERROR;
       }
 
-      // make a new book with the data from the CSV file
-      Book book = new Book(bookToParse[Book.ISBN_], bookToParse[Book.TITLE_],
-          bookToParse[Book.SUBJECT_], pageCount,
-          bookToParse[Book.AUTHOR_], dueDate);
+      // another copy of a title already in the library reuses its book,
+      // otherwise make a new book with the data from the CSV file
+      String isbn = csv.field(Book.ISBN_);
+      Book book = isbnIndex.get(isbn);
+      if (book == null || !isSameTitle(book, csv, pageCount)) {
+        book = new Book(isbn, csv.field(Book.TITLE_),
+            csv.field(Book.SUBJECT_, strings), pageCount,
+            csv.field(Book.AUTHOR_, strings), dueDate);
+      }
 
-      // add newly created book to library
+      // add book to library
       addBook(book);
     }
     return Code.SUCCESS;
   }
 
+  /**
+   * Checks if the current CSV book line is another copy of a book, comparing
+   * the fields Book.equals compares without creating any Strings
+   *
+   * @param book book already in the library with the line's ISBN
+   * @param csv current position in CSV file
+   * @param pageCount page count of the line
+   * @return true if the line describes the same title
+   */
+  private static boolean isSameTitle(Book book, CsvReader csv, int pageCount) {
+    return book.getPageCount() == pageCount
+        && csv.fieldEquals(Book.TITLE_, book.getTitle())
+        && csv.fieldEquals(Book.SUBJECT_, book.getSubject())
+        && csv.fieldEquals(Book.AUTHOR_, book.getAuthor());
+  }
+
   /**
    * Parse all shelves from a CSV file and initialize them in the library
    *
    * @param shelfCount number of shelves to be parsed
-   * @param scan current position in CSV file
+   * @param csv current position in CSV file
    * @return success or appropriate error code
    */
-  private Code initShelves(int shelfCount, Scanner scan) {
+  private Code initShelves(int shelfCount, CsvReader csv) {
     if (shelfCount < 1) {             // ensure there are shelves to parse
       return Code.SHELF_COUNT_ERROR;
     }
 
-    System.out.println("parsing " + shelfCount + " shelves");
-    for (int i = 0; i < shelfCount && scan != null && scan.hasNext(); i++) { // for each shelf
-      String[] shelfToParse = scan.nextLine().split(",");
-
-      addShelf(shelfToParse[Shelf.SUBJECT_]); // add shelf from CSV by subject
+    emit(LibraryEvent.PARSING_SHELVES, shelfCount);
+    for (int i = 0; i < shelfCount && csv.next(); i++) { // for each shelf
+      addShelf(csv.field(Shelf.SUBJECT_)); // add shelf from CSV by subject
     }
     if (shelves.size() != shelfCount) {
-      System.out.println("Number of shelves doesn't match expected");
+      emit(LibraryEvent.SHELF_COUNT_MISMATCH, shelfCount);
       return Code.SHELF_NUMBER_PARSE_ERROR;
     }
     return Code.SUCCESS;
@@ -175,43 +718,40 @@ public class Library {
    * Parse all readers from a CSV file and initialize them in the library
    *
    * @param readerCount number of readers to be parsed
-   * @param scan current position in CSV file
+   * @param csv current position in CSV file
    * @return success or appropriate error code
    */
-  private Code initReader(int readerCount, Scanner scan) {
+  private Code initReader(int readerCount, CsvReader csv) {
     if (readerCount < 1) {             // ensure there are readers to parse
       return Code.READER_COUNT_ERROR;
     }
 
-    System.out.println("parsing " + readerCount + " readers");
-    for (int i = 0; i < readerCount && scan != null && scan.hasNext(); i++) { // for each reader
-      String[] readerToParse = scan.nextLine().split(",");
-
+    emit(LibraryEvent.PARSING_READERS, readerCount);
+    for (int i = 0; i < readerCount && csv.next(); i++) { // for each reader
       // convert reader's card number to int
-      int cardNumber = convertInt(readerToParse[Reader.CARD_NUMBER_],
-          Code.READER_CARD_NUMBER_ERROR);
+      int cardNumber = convertInt(csv, Reader.CARD_NUMBER_, Code.READER_CARD_NUMBER_ERROR);
       if (cardNumber < 0) {
         return Code.READER_CARD_NUMBER_ERROR;
       }
 
       // create new reader with data from CSV file
-      Reader reader = new Reader(cardNumber, readerToParse[Reader.NAME_],
-          readerToParse[Reader.PHONE_]);
+      Reader reader = new Reader(cardNumber, csv.field(Reader.NAME_),
+          csv.field(Reader.PHONE_));
 
       // add newly created reader to library
       addReader(reader);
 
       // add books to readers inventory
-      for (int j = Reader.BOOK_START_; j < readerToParse.length; j++) {
-        Book book = getBookByISBN(readerToParse[j]);
+      for (int j = Reader.BOOK_START_; j < csv.fieldCount(); j++) {
+        String isbn = csv.field(j);
+        Book book = getBookByISBN(isbn);
         j++; // move to book's date
         if (book == null) {
-          System.out.println("ERROR");
+          emit(LibraryEvent.LOAN_NOT_IN_LIBRARY, isbn, null);
           continue;
         }
-        LocalDate dueDate = convertDate(readerToParse[j], Code.DATE_CONVERSION_ERROR);
-        book.setDueDate(dueDate);
-        checkOutBook(reader, book);
+        LocalDate dueDate = convertDate(csv, j, Code.DATE_CONVERSION_ERROR);
+        checkOutBook(reader, book, dueDate);
       }
 
     }
@@ -225,22 +765,110 @@ public class Library {
    * @return success or appropriate error code
    */
   public Code addBook(Book newBook) {
+    long start = startTiming();
+    return measure(LibraryMetrics.Operation.ADD_BOOK, start, stock(newBook));
+  }
+
+  /**
+   * Add given book to library and appropriate shelf, for addBook to time
+   *
+   * @param newBook book to be added
+   * @return success or appropriate error code
+   */
+  private Code stock(Book newBook) {
+    newBook.catalogue(); // copies of a title may be different Book objects
     if (books.containsKey(newBook)) { // increment value in HashMap books if available...
       books.replace(newBook, books.get(newBook) + 1);
-      System.out.println( books.get(newBook) + " copies of "
-          + newBook.getTitle() + " in the stacks");
+      emit(LibraryEvent.COPY_ADDED, newBook, books.get(newBook));
     } else {                          // otherwise, put newBook as a new key in HashMap books
       books.put(newBook, 1);
-      System.out.println(newBook.getTitle() + " added to the stacks.");
+      indexTitle(newBook);
+      emit(LibraryEvent.TITLE_ADDED, newBook, null);
     }
+    logRedo(Journal.Entry.addBook(newBook));
     // add newBook to appropriate shelf if available
     if (addBookToShelf(newBook, shelves.get(newBook.getSubject())) == Code.SUCCESS) {
       return Code.SUCCESS;
     }
-    System.out.println("No shelf for " + newBook.getSubject() + " books");
+    emit(LibraryEvent.NO_SHELF_FOR_SUBJECT, newBook.getSubject(), null);
     return Code.SHELF_EXISTS_ERROR;
   }
 
+  /**
+   * Add several copies of a book to the library and its shelf at once
+   *
+   * @param book book to be added
+   * @param copies number of copies to be added
+   * @param strings pool for the subject and author of a new title
+   */
+  private void addCopies(Book book, int copies, StringPool strings) {
+    Integer count = books.get(book);
+    if (count == null) {
+      String subject = strings.intern(book.getSubject());
+      String author = strings.intern(book.getAuthor());
+      if (subject != book.getSubject() || author != book.getAuthor()) { // an equal book
+        book = new Book(new CatalogKey(book.getIsbn(), book.getTitle(), subject,
+            book.getPageCount(), author), book.getDueDate());
+      }
+      books.put(book, copies);
+      indexTitle(book);
+    } else {
+      books.put(book, count + copies);
+    }
+    Shelf shelf = shelves.get(book.getSubject());
+    if (shelf != null) {
+      for (int i = 0; i < copies; i++) {
+        shelf.addBook(book);
+      }
+    }
+  }
+
+  /**
+   * Keep the lookup indexes in step with a title new to the library
+   *
+   * @param book title added to books
+   */
+  private void indexTitle(Book book) {
+    book.catalogue();
+    isbnIndex.putIfAbsent(book.getIsbn(), book);
+    subjectIndex.computeIfAbsent(book.getSubject(), subject -> newTitleList()).add(book);
+    authorIndex.computeIfAbsent(book.getAuthor(), author -> newTitleList()).add(book);
+    titles.add(book);
+    if (titleIndex != null) {
+      titleIndex.add(book);
+    }
+  }
+
+  /**
+   * Create a list of titles for the subject and author indexes and listings. Titles
+   * by one author can be added under different subject locks at once, so a shared
+   * library's lists are synchronized.
+   *
+   * @return an empty list
+   */
+  private List<Book> newTitleList() {
+    return concurrent ? Collections.synchronizedList(new ArrayList<>()) : new ArrayList<>();
+  }
+
+  /**
+   * Count the copies of each title in an index list
+   *
+   * @param titles titles from the subject or author index, or null
+   * @return copies of each title in the order the titles were added
+   */
+  private Map<Book, Integer> withCopies(List<Book> titles) {
+    if (titles == null) {
+      return Collections.emptyMap();
+    }
+    Map<Book, Integer> copies = new LinkedHashMap<>();
+    synchronized (titles) {
+      for (Book book : titles) {
+        copies.put(book, books.get(book));
+      }
+    }
+    return copies;
+  }
+
   /**
    * Take book from reader and return it to the library
    *
@@ -249,23 +877,95 @@ public class Library {
    * @return success or appropriate error code
    */
   public Code returnBook(Reader reader, Book book) {
+    long start = startTiming();
+    LibraryFlightEvents.Return event = new LibraryFlightEvents.Return();
+    event.begin();
+    Code code = event.finish(reader, book, takeBack(reader, book));
+    return measure(LibraryMetrics.Operation.RETURN, start, code);
+  }
+
+  /**
+   * Take book from reader and return it to the library, for returnBook to time
+   *
+   * @param reader reader returning the book
+   * @param book book to be returned
+   * @return success or appropriate error code
+   */
+  private Code takeBack(Reader reader, Book book) {
     if (!reader.hasBook(book)) { // ensure the reader has the book
-      System.out.println(reader.getName() + " doesn't have " + book.getTitle() + " checked out");
+      emit(LibraryEvent.READER_DOESNT_HAVE_BOOK, reader, book);
       return Code.READER_DOESNT_HAVE_BOOK_ERROR;
     }
     if (!books.containsKey(book)) {
       return Code.BOOK_NOT_IN_INVENTORY_ERROR;
     }
-    System.out.println(reader.getName() + " is returning " + book);
+    return giveBack(reader, book, shelves.get(book.getSubject()));
+  }
+
+  /**
+   * Take several books from a reader and return them to the library at once.
+   * Books are put back on each shelf in turn. Each book counts as one return in the
+   * metrics and flight recordings.
+   *
+   * @param reader reader returning the books
+   * @param batch books to be returned
+   * @return success or appropriate error code for each book, in the order of batch
+   */
+  public List<Code> returnBooks(Reader reader, Collection<Book> batch) {
+    long start = startTiming();
+    List<Book> items = new ArrayList<>(batch);
+    Code[] codes = new Code[items.size()];
+    for (Map.Entry<String, List<Integer>> group : groupBySubject(items).entrySet()) {
+      Shelf shelf = shelves.get(group.getKey());
+      for (int i : group.getValue()) {
+        Book book = items.get(i);
+        LibraryFlightEvents.Return event = new LibraryFlightEvents.Return();
+        event.begin();
+        Code code;
+        if (!reader.hasBook(book)) {
+          emit(LibraryEvent.READER_DOESNT_HAVE_BOOK, reader, book);
+          code = Code.READER_DOESNT_HAVE_BOOK_ERROR;
+        } else if (!books.containsKey(book)) {
+          code = Code.BOOK_NOT_IN_INVENTORY_ERROR;
+        } else {
+          code = giveBack(reader, book, shelf);
+        }
+        codes[i] = measure(LibraryMetrics.Operation.RETURN, start,
+            event.finish(reader, book, code));
+        start = nextStart(start);
+      }
+    }
+    return Arrays.asList(codes);
+  }
+
+  /**
+   * Move a book the reader has from the reader back to its shelf
+   *
+   * @param reader reader returning the book
+   * @param book book to be returned
+   * @param shelf shelf for the book's subject or null if there is none
+   * @return success or appropriate error code
+   */
+  private Code giveBack(Reader reader, Book book, Shelf shelf) {
+    emit(LibraryEvent.RETURNING, reader, book);
+    Loan loan = reader.getLoan(book);
     Code code = reader.removeBook(book);
     if (code == Code.SUCCESS) {
-      code = returnBook(book);
+      endLoan(loan);
+      if (shelf != null) {
+        code = shelf.addBook(book);
+      } else {
+        emit(LibraryEvent.NO_SHELF_FOR_BOOK, book, null);
+        code = Code.SHELF_EXISTS_ERROR;
+      }
       if (code == Code.SUCCESS) {
+        logRedo(Journal.Entry.returnBook(reader, book));
         return code;
       }
-      reader.addBook(book); // give book back to reader if unable to return
+      reader.addBook(book, loan.getDueDate()); // give book back to reader if unable to return
+      startLoan(reader.getLoan(book));
     }
-    System.out.println("Could not return " + book);
+    emit(LibraryEvent.RETURN_FAILED, book, null);
     return code;
   }
 
@@ -276,10 +976,24 @@ public class Library {
    * @return success or appropriate error code
    */
   public Code returnBook(Book book) {
+    Code code = shelve(book);
+    if (code == Code.SUCCESS) {
+      logRedo(Journal.Entry.returnToShelf(book));
+    }
+    return code;
+  }
+
+  /**
+   * Add given book to appropriate shelf without journaling it
+   *
+   * @param book book to be shelved
+   * @return success or appropriate error code
+   */
+  private Code shelve(Book book) {
     if (shelves.containsKey(book.getSubject())) { // add book to appropriate shelf if possible
       return shelves.get(book.getSubject()).addBook(book);
     }
-    System.out.println("No shelf for " + book);
+    emit(LibraryEvent.NO_SHELF_FOR_BOOK, book, null);
     return Code.SHELF_EXISTS_ERROR;
   }
 
@@ -290,91 +1004,343 @@ public class Library {
    * @param shelf shelf that the book is being returned to
    * @return success or appropriate error code
    */
-  private Code addBookToShelf(Book book, Shelf shelf) {
-    if (returnBook(book).equals(Code.SUCCESS)) {
-      return Code.SUCCESS;
-    }
-    if (shelf == null) {
-      return Code.SHELF_EXISTS_ERROR;
+  private Code addBookToShelf(Book book, Shelf shelf) {
+    if (shelve(book).equals(Code.SUCCESS)) { // the book's addBook record covers this
+      return Code.SUCCESS;
+    }
+    if (shelf == null) {
+      return Code.SHELF_EXISTS_ERROR;
+    }
+    if (!shelf.getSubject().equals(book.getSubject())) {
+      return Code.SHELF_SUBJECT_MISMATCH_ERROR;
+    }
+    Code code = shelf.addBook(book);
+    if (code.equals(Code.SUCCESS)) {
+      emit(LibraryEvent.BOOK_ADDED_TO_SHELF, book, null);
+      return Code.SUCCESS;
+    }
+    emit(LibraryEvent.BOOK_NOT_ADDED_TO_SHELF, book, null);
+    return code;
+  }
+
+  /**
+   * Print all books the library owns to the console
+   *
+   * @return total number of books owned by the library
+   */
+  public int listBooks() {
+    int bookCount = 0;
+    for (Book book : books.keySet()) {
+      System.out.println(books.get(book) + " copies of "
+          + book.getTitle() + " by " + book.getAuthor() + " ISBN:" + book.getIsbn());
+      bookCount += books.get(book);
+    }
+    return bookCount;
+  }
+
+  /**
+   * List the titles the library owns, in the order they were added, a few at a time
+   *
+   * @param after token of the last title already listed, or 0 to start
+   * @return lazy listing of each title with its copies
+   */
+  public Cursor<Map.Entry<Book, Integer>> listBooks(long after) {
+    return new Cursor<>(this::fetchBooks, after);
+  }
+
+  /**
+   * Copy titles for a listing. The token of a title is its place in the order titles
+   * were added, which never changes until the library is restored.
+   *
+   * @param after token of the last title already listed
+   * @param max most titles to be copied
+   * @param out destination of the titles with their copies
+   * @param tokens destination of the token of each title
+   * @return number of titles copied
+   */
+  private int fetchBooks(long after, int max, List<Map.Entry<Book, Integer>> out,
+      long[] tokens) {
+    int count = 0;
+    synchronized (titles) {
+      for (long i = Math.max(after, 0); i < titles.size() && count < max; i++) {
+        Book book = titles.get((int) i);
+        out.add(new AbstractMap.SimpleImmutableEntry<>(book, books.get(book)));
+        tokens[count++] = i + 1;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Write titles, one line each as listBooks prints them, as they are listed
+   *
+   * @param titles titles with their copies, such as from listBooks(long)
+   * @param out destination of the lines
+   * @return success or appropriate error code
+   */
+  public Code renderBooks(Iterator<Map.Entry<Book, Integer>> titles, Appendable out) {
+    try {
+      while (titles.hasNext()) {
+        Map.Entry<Book, Integer> entry = titles.next();
+        Book book = entry.getKey();
+        out.append(String.valueOf(entry.getValue())).append(" copies of ")
+            .append(book.getTitle()).append(" by ").append(book.getAuthor())
+            .append(" ISBN:").append(book.getIsbn()).append(System.lineSeparator());
+      }
+      return Code.SUCCESS;
+    } catch (IOException e) {
+      emit(LibraryEvent.LIST_FAILED, out, e.getMessage());
+      return Code.LIST_ERROR;
+    }
+  }
+
+  /**
+   * Add given book to the reader and remove it from the shelf, due back on the book's due date
+   *
+   * @param reader reader checking out the book
+   * @param book book to be checked out
+   * @return success or appropriate error code
+   */
+  public Code checkOutBook(Reader reader, Book book) {
+    return checkOutBook(reader, book, book.getDueDate());
+  }
+
+  /**
+   * Add given book to the reader and remove it from the shelf
+   *
+   * @param reader reader checking out the book
+   * @param book book to be checked out
+   * @param dueDate date the reader's copy is due back
+   * @return success or appropriate error code
+   */
+  public Code checkOutBook(Reader reader, Book book, LocalDate dueDate) {
+    long start = startTiming();
+    LibraryFlightEvents.CheckOut event = new LibraryFlightEvents.CheckOut();
+    event.begin();
+    Code code = event.finish(reader, book, lend(reader, book, dueDate));
+    return measure(LibraryMetrics.Operation.CHECK_OUT, start, code);
+  }
+
+  /**
+   * Add given book to the reader and remove it from the shelf, for checkOutBook to time
+   *
+   * @param reader reader checking out the book
+   * @param book book to be checked out
+   * @param dueDate date the reader's copy is due back
+   * @return success or appropriate error code
+   */
+  private Code lend(Reader reader, Book book, LocalDate dueDate) {
+    // ensure the reader is on record
+    if (!isRegistered(reader)) {
+      emit(LibraryEvent.READER_HAS_NO_ACCOUNT, reader, null);
+      return Code.READER_NOT_IN_LIBRARY_ERROR;
+    }
+    // ensure the reader has not exceeded the lending limit
+    if (reader.getBookCount() >= LENDING_LIMIT) {
+      emit(LibraryEvent.LENDING_LIMIT_REACHED, reader, null);
+      return  Code.BOOK_LIMIT_REACHED_ERROR;
+    }
+    return checkOut(reader, book, dueDate, shelves.get(book.getSubject()));
+  }
+
+  /**
+   * Check out several books to a reader at once. The reader is checked once, and if
+   * the books would take the reader over the lending limit none of them are checked out.
+   * Books are taken from each shelf in turn. Each book counts as one checkout in the
+   * metrics and flight recordings.
+   *
+   * @param reader reader checking out the books
+   * @param batch books to be checked out
+   * @return success or appropriate error code for each book, in the order of batch
+   */
+  public List<Code> checkOutBooks(Reader reader, Collection<Book> batch) {
+    long start = startTiming();
+    if (!isRegistered(reader)) {
+      emit(LibraryEvent.READER_HAS_NO_ACCOUNT, reader, null);
+      return refuseCheckOuts(reader, batch, Code.READER_NOT_IN_LIBRARY_ERROR, start);
     }
-    if (!shelf.getSubject().equals(book.getSubject())) {
-      return Code.SHELF_SUBJECT_MISMATCH_ERROR;
+    if (reader.getBookCount() + batch.size() > LENDING_LIMIT) {
+      emit(LibraryEvent.LENDING_LIMIT_REACHED, reader, null);
+      return refuseCheckOuts(reader, batch, Code.BOOK_LIMIT_REACHED_ERROR, start);
     }
-    Code code = shelf.addBook(book);
-    if (code.equals(Code.SUCCESS)) {
-      System.out.println(book + " added to shelf");
-      return Code.SUCCESS;
+    List<Book> items = new ArrayList<>(batch);
+    Code[] codes = new Code[items.size()];
+    for (Map.Entry<String, List<Integer>> group : groupBySubject(items).entrySet()) {
+      Shelf shelf = shelves.get(group.getKey());
+      for (int i : group.getValue()) {
+        Book book = items.get(i);
+        LibraryFlightEvents.CheckOut event = new LibraryFlightEvents.CheckOut();
+        event.begin();
+        Code code = checkOut(reader, book, book.getDueDate(), shelf);
+        codes[i] = measure(LibraryMetrics.Operation.CHECK_OUT, start,
+            event.finish(reader, book, code));
+        start = nextStart(start);
+      }
     }
-    System.out.println("Could not add " + book + " to shelf");
-    return code;
+    return Arrays.asList(codes);
   }
 
   /**
-   * Print all books the library owns to the console
+   * Counts every book of a batch that can't be checked out as a failed checkout
    *
-   * @return total number of books owned by the library
+   * @param reader reader checking out the books
+   * @param batch books to be checked out
+   * @param code why none of them can be
+   * @param start value startTiming returned for the batch
+   * @return code for each book
    */
-  public int listBooks() {
-    int bookCount = 0;
-    for (Book book : books.keySet()) {
-      System.out.println(books.get(book) + " copies of "
-          + book.getTitle() + " by " + book.getAuthor() + " ISBN:" + book.getIsbn());
-      bookCount += books.get(book);
+  private List<Code> refuseCheckOuts(Reader reader, Collection<Book> batch, Code code,
+                                     long start) {
+    for (Book book : batch) {
+      LibraryFlightEvents.CheckOut event = new LibraryFlightEvents.CheckOut();
+      event.begin();
+      measure(LibraryMetrics.Operation.CHECK_OUT, start, event.finish(reader, book, code));
+      start = nextStart(start);
     }
-    return bookCount;
+    return Collections.nCopies(batch.size(), code);
   }
 
   /**
-   * Add given book to the reader and remove it from the shelf
+   * Move a book from its shelf to a reader once the reader has been checked
    *
    * @param reader reader checking out the book
    * @param book book to be checked out
+   * @param dueDate date the reader's copy is due back
+   * @param shelf shelf for the book's subject or null if there is none
    * @return success or appropriate error code
    */
-  public Code checkOutBook(Reader reader, Book book) {
-    // ensure the reader is on record
-    if (!readers.contains(reader)) {
-      System.out.println(reader.getName() + " doesn't have an account here");
-      return Code.READER_NOT_IN_LIBRARY_ERROR;
-    }
-    // ensure the reader has not exceeded the lending limit
-    if (reader.getBookCount() >= LENDING_LIMIT) {
-      System.out.println(reader.getName() +
-          " has reached the lending limit, (" + LENDING_LIMIT + ")");
-      return  Code.BOOK_LIMIT_REACHED_ERROR;
-    }
+  private Code checkOut(Reader reader, Book book, LocalDate dueDate, Shelf shelf) {
     // ensure the library has the book
     if (!books.containsKey(book)) {
-      System.out.println("ERROR: could not find " + book);
+      emit(LibraryEvent.BOOK_NOT_FOUND, book, null);
       return Code.BOOK_NOT_IN_INVENTORY_ERROR;
     }
     // ensure there is a shelf for the book
-    if (!shelves.containsKey(book.getSubject())) {
-      System.out.println("no shelf for " + book.getSubject() + " books!");
+    if (shelf == null) {
+      emit(LibraryEvent.NO_SHELF_FOR_CHECKOUT, book.getSubject(), null);
       return Code.SHELF_EXISTS_ERROR;
     }
     // ensure the book is available on the shelf
-    if (shelves.get(book.getSubject()).getBookCount(book) < 1) {
-      System.out.println("ERROR: no copies of " + book + " remain");
+    if (shelf.getBookCount(book) < 1) {
+      emit(LibraryEvent.NO_COPIES_REMAIN, book, null);
       return Code.BOOK_NOT_IN_INVENTORY_ERROR;
     }
     // add book to reader
-    Code code = reader.addBook(book);
+    Code code = reader.addBook(book, dueDate);
     if (code != Code.SUCCESS) {
-      System.out.println("Couldn't checkout " + book);
+      emit(LibraryEvent.CHECKOUT_FAILED, book, null);
       return code;
     }
     // remove book from shelf
-    code = shelves.get(book.getSubject()).removeBook(book);
+    code = shelf.removeBook(book);
     if (code != Code.SUCCESS) {
       reader.removeBook(book); // take book back from reader if unable to remove from library
-      System.out.println("Couldn't checkout " + book);
+      emit(LibraryEvent.CHECKOUT_FAILED, book, null);
       return code;
     }
-    System.out.println(book + " checked out successfully");
+    startLoan(reader.getLoan(book));
+    logRedo(Journal.Entry.checkOut(reader, book));
+    emit(LibraryEvent.CHECKED_OUT, book, null);
     return Code.SUCCESS;
   }
 
+  /**
+   * Group the positions of books in a batch by the subject of each book,
+   * in the order each subject first appears
+   *
+   * @param items books in a batch
+   * @return positions in items for every subject
+   */
+  private static Map<String, List<Integer>> groupBySubject(List<Book> items) {
+    Map<String, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < items.size(); i++) {
+      groups.computeIfAbsent(items.get(i).getSubject(), subject -> new ArrayList<>()).add(i);
+    }
+    return groups;
+  }
+
+  /**
+   * Find the loans overdue on a day, those due back before it, the longest overdue first.
+   * Found from the loan index by due date, without going through every reader's books.
+   *
+   * @param today day to check against
+   * @return view of the loans overdue on the day
+   */
+  public Collection<Loan> getOverdueLoans(LocalDate today) {
+    return loanIndex.getOverdue(today);
+  }
+
+  /**
+   * Keep track of a loan the library has made
+   *
+   * @param loan loan made
+   */
+  private void startLoan(Loan loan) {
+    loanIndex.add(loan);
+    if (sweeper != null) {
+      sweeper.schedule(loan);
+    }
+  }
+
+  /**
+   * Keep track of every loan of a reader new to the library
+   *
+   * @param reader reader whose loans were made
+   */
+  private void startLoans(Reader reader) {
+    for (Book book : reader.getBooks()) {
+      startLoan(reader.getLoan(book));
+    }
+  }
+
+  /**
+   * Stop tracking a loan whose book has been returned
+   *
+   * @param loan loan ended
+   */
+  private void endLoan(Loan loan) {
+    loanIndex.remove(loan);
+    if (sweeper != null) {
+      sweeper.cancel(loan);
+    }
+  }
+
+  /**
+   * Find the books whose title and author best match what was typed, such as "dune",
+   * "herbert" or "hitchhik". Each word of the query matches the start of a word.
+   *
+   * @param query words to look for
+   * @param limit most books wanted
+   * @return matching books, best first, or an empty list if no title index is kept
+   */
+  public List<Book> search(String query, int limit) {
+    long start = startTiming();
+    TitleIndex index = titleIndex;
+    List<Book> found = index == null ? Collections.emptyList() : index.search(query, limit);
+    measure(LibraryMetrics.Operation.SEARCH, start, Code.SUCCESS);
+    return found;
+  }
+
+  /**
+   * Find every title on a subject, in the time it takes to list them
+   *
+   * @param subject subject of the titles
+   * @return copies of each title, in the order the titles were added
+   */
+  public Map<Book, Integer> getTitlesBySubject(String subject) {
+    return withCopies(subjectIndex.get(subject));
+  }
+
+  /**
+   * Find every title by an author, in the time it takes to list them
+   *
+   * @param author author of the titles, as written in the catalog
+   * @return copies of each title, in the order the titles were added
+   */
+  public Map<Book, Integer> getTitlesByAuthor(String author) {
+    return withCopies(authorIndex.get(author));
+  }
+
   /**
    * Find book with given ISBN
    *
@@ -382,12 +1348,14 @@ public class Library {
    * @return book with given ISBN or null if not present
    */
   public Book getBookByISBN(String isbn) {
-    for (Book book : books.keySet()) {
-      if (book.getIsbn().equals(isbn)) {
-        return book;
-      }
+    long start = startTiming();
+    Book book = isbnIndex.get(isbn);
+    if (book != null) {
+      measure(LibraryMetrics.Operation.GET_BOOK_BY_ISBN, start, Code.SUCCESS);
+      return book;
     }
-    System.out.println("ERROR: Could not find a book with isbn: " + isbn);
+    emit(LibraryEvent.ISBN_NOT_FOUND, isbn, null);
+    measure(LibraryMetrics.Operation.GET_BOOK_BY_ISBN, start, Code.BOOK_NOT_IN_INVENTORY_ERROR);
     return null;
   }
 
@@ -398,16 +1366,81 @@ public class Library {
    * @return success or appropriate error code
    */
   public Code listShelves(boolean showBooks) {
-    if (showBooks) {
-      for (Shelf shelf : shelves.values()) {
-        System.out.println(shelf.listBooks());
+    for (Shelf shelf : shelves.values()) {
+      System.out.println(describe(shelf, showBooks));
+    }
+    return Code.SUCCESS;
+  }
+
+  /**
+   * List the shelves in the order they were numbered, a few at a time
+   *
+   * @param after token of the last shelf already listed, or 0 to start
+   * @return lazy listing of the shelves
+   */
+  public Cursor<Shelf> listShelves(long after) {
+    return new Cursor<>(this::fetchShelves, after);
+  }
+
+  /**
+   * Copy shelves for a listing
+   *
+   * @param after token of the last shelf already listed
+   * @param max most shelves to be copied
+   * @param out destination of the shelves
+   * @param tokens destination of the token of each shelf
+   * @return number of shelves copied
+   */
+  protected int fetchShelves(long after, int max, List<Shelf> out, long[] tokens) {
+    return shelfNumbers.valuesAfter(after, max, out, tokens);
+  }
+
+  /**
+   * Write shelves as listShelves prints them, as they are listed
+   *
+   * @param shelves shelves such as from listShelves(long)
+   * @param showBooks should the books be listed?
+   * @param out destination of the listing
+   * @return success or appropriate error code
+   */
+  public Code renderShelves(Iterator<Shelf> shelves, boolean showBooks, Appendable out) {
+    try {
+      while (shelves.hasNext()) {
+        describe(shelves.next(), showBooks, out);
+        out.append(System.lineSeparator());
       }
+      return Code.SUCCESS;
+    } catch (IOException e) {
+      emit(LibraryEvent.LIST_FAILED, out, e.getMessage());
+      return Code.LIST_ERROR;
+    }
+  }
+
+  /**
+   * Describes a shelf for renderShelves, writing its books one at a time
+   *
+   * @param shelf shelf to be described
+   * @param showBooks should the books be listed?
+   * @param out destination of the description
+   * @throws IOException if the description could not be written
+   */
+  protected void describe(Shelf shelf, boolean showBooks, Appendable out) throws IOException {
+    if (showBooks) {
+      shelf.listBooks(out);
     } else {
-      for (Shelf shelf : shelves.values()) {
-        System.out.println(shelf.toString());
-      }
+      out.append(shelf.toString());
     }
-    return Code.SUCCESS;
+  }
+
+  /**
+   * Describes a shelf for listShelves
+   *
+   * @param shelf shelf to be described
+   * @param showBooks should the books be listed?
+   * @return the shelf's books listing or its toString
+   */
+  protected String describe(Shelf shelf, boolean showBooks) {
+    return showBooks ? shelf.listBooks() : shelf.toString();
   }
 
   /**
@@ -417,15 +1450,37 @@ public class Library {
    * @return success or appropriate error code
    */
   public Code addShelf(String shelfSubject) {
-    if (shelves.containsKey(shelfSubject)) { // ensure shelf does not already exist
-      System.out.println("ERROR: Shelf already exists " + shelves.get(shelfSubject));
-      return Code.SHELF_EXISTS_ERROR;
+    Shelf existing = shelves.get(shelfSubject);
+    if (existing != null) { // ensure shelf does not already exist
+      LibraryFlightEvents.AddShelf event = new LibraryFlightEvents.AddShelf();
+      event.begin();
+      emit(LibraryEvent.SHELF_EXISTS, existing, null);
+      return event.finish(existing, Code.SHELF_EXISTS_ERROR);
     }
-    Shelf shelf = new Shelf();
+    Shelf shelf = newShelf();
     shelf.setSubject(shelfSubject);
     return addShelf(shelf);
   }
 
+  /**
+   * Create an empty shelf for addShelf to fill in
+   *
+   * @return a new shelf
+   */
+  protected Shelf newShelf() {
+    return new Shelf();
+  }
+
+  /**
+   * Find the shelf for a subject without reporting a missing shelf
+   *
+   * @param subject subject of the shelf
+   * @return shelf for the subject or null if there is none
+   */
+  protected Shelf shelfFor(String subject) {
+    return shelves.get(subject);
+  }
+
   /**
    * Add a given shelf to the library
    *
@@ -433,31 +1488,45 @@ public class Library {
    * @return success or appropriate error code
    */
   public Code addShelf(Shelf shelf) {
-    if (shelves.containsValue(shelf)) { // ensure shelf does not already exist
-      System.out.println("ERROR: Shelf already exists " + shelf);
+    LibraryFlightEvents.AddShelf event = new LibraryFlightEvents.AddShelf();
+    event.begin();
+    return event.finish(shelf, shelve(shelf));
+  }
+
+  /**
+   * Add a given shelf to the library, for addShelf to record
+   *
+   * @param shelf shelf to be added
+   * @return success or appropriate error code
+   */
+  private Code shelve(Shelf shelf) {
+    // ensure shelf does not already exist
+    if (shelf.equals(shelves.get(shelf.getSubject()))) {
+      emit(LibraryEvent.SHELF_EXISTS, shelf, null);
       return Code.SHELF_EXISTS_ERROR;
     }
 
-    // find next shelf number
-    int shelfNumber = 0;
-    for (Shelf s : shelves.values()) {
-      if (s.getShelfNumber() > shelfNumber) {
-        shelfNumber = s.getShelfNumber();
-      }
-    }
-    shelf.setShelfNumber(shelfNumber + 1);
+    // take the next shelf number
+    shelf.setShelfNumber(++lastShelfNumber);
+    shelf.setEventSink(events);
 
-    // add shelf to library
-    shelves.put(shelf.getSubject(), shelf);
+    // add shelf to library, replacing any shelf for the same subject
+    Shelf replaced = shelves.put(shelf.getSubject(), shelf);
+    if (replaced != null) {
+      shelfNumbers.remove(replaced.getShelfNumber());
+    }
+    shelfNumbers.put(shelf.getShelfNumber(), shelf);
 
     // Add all the books with matching subjects to the new shelf
-    for (Book book : books.keySet()) {
-      if (book.getSubject().equals(shelf.getSubject())) {
+    List<Book> titles = subjectIndex.get(shelf.getSubject());
+    if (titles != null) {
+      for (Book book : titles) {
         for (int i = 0; i < books.get(book); i++) {
           shelf.addBook(book);
         }
       }
     }
+    logRedo(Journal.Entry.addShelf(shelf.getSubject()));
     return Code.SUCCESS;
   }
 
@@ -468,12 +1537,14 @@ public class Library {
    * @return shelf with given shelf number or null if not present
    */
   public Shelf getShelf(Integer shelfNumber) {
-    for (Shelf shelf : shelves.values()) {
-      if (shelf.getShelfNumber() == shelfNumber) {
-        return shelf;
-      }
+    long start = startTiming();
+    Shelf shelf = shelfNumbers.get(shelfNumber);
+    if (shelf != null) {
+      measure(LibraryMetrics.Operation.GET_SHELF, start, Code.SUCCESS);
+      return shelf;
     }
-    System.out.println("No shelf number " + shelfNumber + " found");
+    emit(LibraryEvent.SHELF_NUMBER_NOT_FOUND, shelfNumber, null);
+    measure(LibraryMetrics.Operation.GET_SHELF, start, Code.LIBRARY_OUT_OF_SHELVES_ERROR);
     return null;
   }
 
@@ -484,10 +1555,14 @@ public class Library {
    * @return shelf with given ISBN or null if not present
    */
   public Shelf getShelf(String subject) {
-    if (shelves.containsKey(subject)) {
-      return shelves.get(subject);
+    long start = startTiming();
+    Shelf shelf = shelves.get(subject);
+    if (shelf != null) {
+      measure(LibraryMetrics.Operation.GET_SHELF, start, Code.SUCCESS);
+      return shelf;
     }
-    System.out.println("No shelf for " + subject + " books");
+    emit(LibraryEvent.NO_SHELF_FOR_SUBJECT, subject, null);
+    measure(LibraryMetrics.Operation.GET_SHELF, start, Code.LIBRARY_OUT_OF_SHELVES_ERROR);
     return null;
   }
 
@@ -498,8 +1573,8 @@ public class Library {
    */
   public int listReaders() {
     int numReaders = 0;
-    for (Reader reader : readers) {
-      System.out.println(reader.toString());
+    for (Reader reader : registeredReaders()) {
+      System.out.println(describe(reader, false));
       numReaders++;
     }
     return  numReaders;
@@ -515,10 +1590,10 @@ public class Library {
   public int listReaders(boolean showBooks) {
     int numReaders = 0;
     if (showBooks) {
-      for (Reader reader : readers) {
+      for (Reader reader : registeredReaders()) {
         System.out.println(reader.getName() + "(#"
             + reader.getCardNumber() + ") has the following books:");
-        System.out.println(reader.getBooks());
+        System.out.println(describe(reader, true));
         numReaders++;
       }
       return numReaders;
@@ -526,6 +1601,74 @@ public class Library {
     return listReaders(); // print toStings if showBooks is false
   }
 
+  /**
+   * List the readers in the order they joined, a few at a time
+   *
+   * @param after token of the last reader already listed, or 0 to start
+   * @return lazy listing of the readers
+   */
+  public Cursor<Reader> listReaders(long after) {
+    return new Cursor<>(this::fetchReaders, after);
+  }
+
+  /**
+   * Copy readers for a listing
+   *
+   * @param after token of the last reader already listed
+   * @param max most readers to be copied
+   * @param out destination of the readers
+   * @param tokens destination of the token of each reader
+   * @return number of readers copied
+   */
+  protected int fetchReaders(long after, int max, List<Reader> out, long[] tokens) {
+    return readers.valuesAfter(after, max, out, tokens);
+  }
+
+  /**
+   * Write readers as listReaders prints them, as they are listed
+   *
+   * @param readers readers such as from listReaders(long)
+   * @param showBooks should their books be listed?
+   * @param out destination of the listing
+   * @return success or appropriate error code
+   */
+  public Code renderReaders(Iterator<Reader> readers, boolean showBooks, Appendable out) {
+    try {
+      while (readers.hasNext()) {
+        Reader reader = readers.next();
+        if (showBooks) {
+          out.append(reader.getName()).append("(#").append(String.valueOf(reader.getCardNumber()))
+              .append(") has the following books:").append(System.lineSeparator());
+        }
+        out.append(describe(reader, showBooks)).append(System.lineSeparator());
+      }
+      return Code.SUCCESS;
+    } catch (IOException e) {
+      emit(LibraryEvent.LIST_FAILED, out, e.getMessage());
+      return Code.LIST_ERROR;
+    }
+  }
+
+  /**
+   * Gives the readers for listReaders to print, in the order they joined
+   *
+   * @return the readers on record
+   */
+  protected Iterable<Reader> registeredReaders() {
+    return readers;
+  }
+
+  /**
+   * Describes a reader for listReaders
+   *
+   * @param reader reader to be described
+   * @param showBooks should only the reader's books be listed?
+   * @return the reader's books or its toString
+   */
+  protected String describe(Reader reader, boolean showBooks) {
+    return showBooks ? String.valueOf(reader.getBooks()) : reader.toString();
+  }
+
   /**
    * Find reader with given card number
    *
@@ -533,12 +1676,14 @@ public class Library {
    * @return reader with given card number or null if not present
    */
   public Reader getReaderByCard(int cardNumber) {
-    for (Reader reader : readers) {
-      if (reader.getCardNumber() == cardNumber) {
-        return reader;
-      }
+    long start = startTiming();
+    Reader reader = readers.get(cardNumber);
+    if (reader != null) {
+      measure(LibraryMetrics.Operation.GET_READER_BY_CARD, start, Code.SUCCESS);
+      return reader;
     }
-    System.out.println("Could not find a reader with card #" + cardNumber);
+    emit(LibraryEvent.CARD_NOT_FOUND, cardNumber);
+    measure(LibraryMetrics.Operation.GET_READER_BY_CARD, start, Code.READER_NOT_IN_LIBRARY_ERROR);
     return null;
   }
 
@@ -549,27 +1694,49 @@ public class Library {
    * @return success or appropriate error code
    */
   public Code addReader(Reader reader) {
+    long start = startTiming();
+    return measure(LibraryMetrics.Operation.ADD_READER, start, enroll(reader));
+  }
+
+  /**
+   * Adds given reader to the library, for addReader to time
+   *
+   * @param reader reader to be added
+   * @return success or appropriate error code
+   */
+  private Code enroll(Reader reader) {
+    Reader existingReader = readers.get(reader.getCardNumber());
     // check if reader already exists
-    if (readers.contains(reader)) {
-      System.out.println(reader.getName() + " already has an account!");
+    if (reader.equals(existingReader)) {
+      emit(LibraryEvent.READER_EXISTS, reader, null);
       return Code.READER_ALREADY_EXISTS_ERROR;
     }
     // check for existing reader with card number
-    Reader existingReader = getReaderByCard(reader.getCardNumber());
     if (existingReader != null) {
-      System.out.println(existingReader.getName() + " and "
-          + reader.getName() + " have the same card number!");
+      emit(LibraryEvent.DUPLICATE_CARD, existingReader, reader);
       return Code.READER_CARD_NUMBER_ERROR;
     }
     // add reader to library
-    readers.add(reader);
-    System.out.println(reader.getName() + " added to the library!");
+    readers.put(reader.getCardNumber(), reader);
+    emit(LibraryEvent.READER_ADDED, reader, null);
     if (reader.getCardNumber() > libraryCard) {
       libraryCard = reader.getCardNumber();
     }
+    startLoans(reader);
+    logRedo(Journal.Entry.addReader(reader));
     return Code.SUCCESS;
   }
 
+  /**
+   * Checks if the given reader is the one on record for their card number
+   *
+   * @param reader reader to be checked
+   * @return true if the library has the reader on record
+   */
+  protected boolean isRegistered(Reader reader) {
+    return reader.equals(readers.get(reader.getCardNumber()));
+  }
+
   /**
    * Removes given reader to the library
    *
@@ -578,14 +1745,16 @@ public class Library {
    */
   public Code removeReader(Reader reader) {
     if (reader.getBookCount() > 0) { // ensure the reader does not have books checked out
-      System.out.println(reader.getName() + " must return all books!");
+      emit(LibraryEvent.READER_HAS_BOOKS, reader, null);
       return Code.READER_STILL_HAS_BOOKS_ERROR;
     }
-    if (!readers.contains(reader)) { // ensure the library has the reader on record
-      System.out.println(reader.getName() + " is not part of this Library");
+    // ensure the library has the reader on record
+    if (!isRegistered(reader)) {
+      emit(LibraryEvent.READER_NOT_IN_LIBRARY, reader, null);
       return Code.READER_NOT_IN_LIBRARY_ERROR;
     }
-    readers.remove(reader);
+    readers.remove(reader.getCardNumber());
+    logRedo(Journal.Entry.removeReader(reader));
     return Code.SUCCESS;
   }
 
@@ -620,6 +1789,23 @@ public class Library {
     return conversion;
   }
 
+  /**
+   * Converts a field of the current CSV record to an integer, only creating
+   * a String for the field when it has to be reported as an error.
+   *
+   * @param csv reader positioned at the record
+   * @param index position of the field in the record
+   * @param code error code
+   * @return integer value of the field or appropriate error code number
+   */
+  private static int convertInt(CsvReader csv, int index, Code code) {
+    int conversion = csv.intField(index);
+    if (conversion == CsvReader.NOT_A_NUMBER) {
+      return convertInt(csv.field(index), code);
+    }
+    return conversion;
+  }
+
   /**
    * Converts given string to a LocalDate value.
    *
@@ -628,39 +1814,30 @@ public class Library {
    * @return LocalDate conversion of given string or appropriate error code number
    */
   public static LocalDate convertDate(String date, Code errorCode) {
-    if (date.equals("0000")) { // return default date 01-Jan-1970 for "0000"
-      return LocalDate.of(1970, 1,1);
-    }
-    String[] dateToParse = date.split("-");
-    if (dateToParse.length != 3) {
+    LocalDate conversion = DateParser.parse(date, 0, date.length()); // "0000" gives the default
+    if (conversion == null) {
       System.out.println("ERROR: " + errorCode.getMessage() + ", could not parse " + date);
       System.out.println("Using default date (01-jan-1970)");
-      return LocalDate.of(1970, 1,1);
-    }
-    // ensure no negative dates
-    if (Integer.parseInt(dateToParse[0]) < 0) {
-      System.out.println("Error converting date: Year " + dateToParse[0]);
-      System.out.println("Using default date (01-jan-1970)");
-      return LocalDate.of(1970, 1,1);
-    }
-    if (Integer.parseInt(dateToParse[1]) < 0) {
-      System.out.println("Error converting date: Month " + dateToParse[1]);
-      System.out.println("Using default date (01-jan-1970)");
-      return LocalDate.of(1970, 1,1);
-    }
-    if (Integer.parseInt(dateToParse[2]) < 0) {
-      System.out.println("Error converting date: Day " + dateToParse[2]);
-      System.out.println("Using default date (01-jan-1970)");
-      return LocalDate.of(1970, 1,1);
+      return DateParser.DEFAULT_DATE;
     }
-    // catch any other errors
-    try {
-      return LocalDate.parse(date);
-    } catch (DateTimeParseException e) {
-      System.out.println("Error parsing date");
-      System.out.println("Using default date (01-jan-1970)");
-      return LocalDate.of(1970, 1,1);
+    return conversion;
+  }
+
+  /**
+   * Converts a field of the current CSV record to a LocalDate value, only
+   * creating a String for the field when it has to be reported as an error.
+   *
+   * @param csv reader positioned at the record
+   * @param index position of the field in the record
+   * @param errorCode error code
+   * @return LocalDate conversion of the field or the default date
+   */
+  private static LocalDate convertDate(CsvReader csv, int index, Code errorCode) {
+    long epochDay = csv.epochDayField(index);
+    if (epochDay == DateParser.INVALID) {
+      return convertDate(csv.field(index), errorCode);
     }
+    return DateParser.toDate(epochDay);
   }
 
   /**
@@ -672,6 +1849,104 @@ public class Library {
     return ++libraryCard;
   }
 
+  /**
+   * Appends a change that has just been made to the journal, if there is one, and
+   * commits it. The journal is a redo log: only changes that succeeded are written,
+   * after they are made in memory. If the journal waits for sync, the operation returns
+   * once its record is on disk.
+   *
+   * @param entry change to be recorded
+   */
+  private void logRedo(Journal.Entry entry) {
+    Journal journal = this.journal;
+    if (journal != null) {
+      commit(journal, journal.append(entry));
+    }
+  }
+
+  /**
+   * Waits until a journal record is on disk if the journal waits for sync
+   *
+   * @param journal journal the record was appended to
+   * @param sequence sequence number of the record
+   */
+  protected void commit(Journal journal, long sequence) {
+    if (journal.isWaitForSync() && !journal.sync(sequence)) {
+      emit(LibraryEvent.JOURNAL_FAILED, journal.getFilename(), journal.ioException());
+    }
+  }
+
+  /**
+   * Tells when the operation the calling thread is running started, for the metrics
+   *
+   * @return start of the operation by System.nanoTime
+   */
+  protected long operationStart() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Starts timing an operation if the library keeps metrics
+   *
+   * @return start of the operation, or 0 if there are no metrics to record it
+   */
+  protected long startTiming() {
+    return metrics == null ? 0 : operationStart();
+  }
+
+  /**
+   * Starts timing the next book of a batch where the last one ended, so the first book
+   * of a batch is charged for any waiting before it and the times add up to the batch's
+   *
+   * @param start value startTiming returned for the batch
+   * @return start of the next book, or 0 if there are no metrics to record it
+   */
+  private long nextStart(long start) {
+    return start == 0 ? 0 : System.nanoTime();
+  }
+
+  /**
+   * Records an operation started with startTiming in the metrics, if there are any
+   *
+   * @param operation operation that ended
+   * @param start value startTiming returned
+   * @param code result of the operation
+   * @return code, so a result can be timed on its way out
+   */
+  protected Code measure(LibraryMetrics.Operation operation, long start, Code code) {
+    LibraryMetrics recorder = metrics;
+    if (recorder != null && start != 0) {
+      recorder.record(operation, code, start);
+    }
+    return code;
+  }
+
+  /**
+   * Sends an event to this library's sink if it wants events
+   *
+   * @param event what happened
+   * @param subject object the event is about
+   * @param detail additional object for the event or null
+   */
+  private void emit(LibraryEvent event, Object subject, Object detail) {
+    if (events.isEnabled()) {
+      events.accept(event, subject, detail);
+    }
+  }
+
+  /**
+   * Sends an event about a number to this library's sink, only boxing
+   * the number if the sink wants events
+   *
+   * @param event what happened
+   * @param number number the event is about
+   */
+  private void emit(LibraryEvent event, int number) {
+    if (events.isEnabled()) {
+      events.accept(event, number, null);
+    }
+  }
+
   /**
    * Finds corresponding Code object wit given code number
    *
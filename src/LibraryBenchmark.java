@@ -0,0 +1,317 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Title: LibraryBenchmark.java
+ * Abstract: Times the core Library, Shelf and Reader operations at several catalog sizes
+ *           and reports the time and the bytes allocated per operation, as a baseline
+ *           for judging later changes. Every benchmark is warmed up before it is measured
+ *           and builds its own library, untimed, before each pass. Titles, readers and
+ *           shelf stock all grow with the size; there is one shelf per subject.
+ *           Usage: java LibraryBenchmark [sizes] [passes]
+ *           e.g. java -Xmx16g LibraryBenchmark 10,1000,100000,10000000 5
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/jre/api/management/extension/com/sun/management/ThreadMXBean.html
+ *             https://shipilev.net/blog/2014/nanotrusting-nanotime/
+ */
+
+public class LibraryBenchmark {
+
+  public static final String DEFAULT_SIZES = "10,1000,100000";
+  public static final int DEFAULT_PASSES = 5;
+  public static final int WARMUP_PASSES = 3;
+  public static final int LOOKUPS = 1_000_000;
+  public static final int LENDERS = 10_000;
+
+  private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+  private static final PrintStream CONSOLE = System.out;
+  private static final PrintStream NOWHERE = new PrintStream(OutputStream.nullOutputStream());
+
+  private static long sink; // keeps results alive so the JIT can't drop the work
+
+  public static void main(String[] args) throws IOException {
+    String[] sizes = (args.length > 0 ? args[0] : DEFAULT_SIZES).split(",");
+    int passes = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PASSES;
+    System.out.printf("%-26s %10s %14s %12s%n", "benchmark", "size", "ns/op", "B/op");
+    for (String size : sizes) {
+      run(Integer.parseInt(size.trim()), passes);
+    }
+    System.out.println("(" + sink + ")");
+  }
+
+  private static void run(int size, int passes) throws IOException {
+    Fixture fixture = new Fixture(size);
+
+    File file = File.createTempFile("libraryBenchmark", ".csv");
+    file.deleteOnExit();
+    InitBenchmark.writeCatalog(file, size, size);
+    bench("Library.init", size, passes, 1, fixture::empty,
+        library -> sink += library.init(file.getPath()).ordinal());
+    file.delete();
+
+    bench("Library.addBook", size, passes, size, fixture::shelved, library -> {
+      for (Book book : fixture.titles) {
+        sink += library.addBook(book).ordinal();
+      }
+    });
+    bench("Library.addShelf", size, passes, InitBenchmark.SUBJECTS, fixture::unshelved, library -> {
+      for (String subject : fixture.subjects) {
+        sink += library.addShelf(subject).ordinal();
+      }
+    });
+    bench("Library.checkOutBook", size, passes, size, fixture::stocked, library -> {
+      for (int i = 0; i < size; i++) {
+        sink += library.checkOutBook(fixture.readers[i], fixture.titles[i]).ordinal();
+      }
+    });
+    bench("Library.returnBook", size, passes, size, fixture::lent, library -> {
+      for (int i = 0; i < size; i++) {
+        sink += library.returnBook(fixture.readers[i], fixture.titles[i]).ordinal();
+      }
+    });
+    bench("Library.getBookByISBN", size, passes, LOOKUPS, fixture::stocked, library -> {
+      for (int i = 0; i < LOOKUPS; i++) {
+        sink += library.getBookByISBN(fixture.isbns[fixture.order[i % fixture.order.length]])
+            .getPageCount();
+      }
+    });
+    bench("Library.getReaderByCard", size, passes, LOOKUPS, fixture::stocked, library -> {
+      for (int i = 0; i < LOOKUPS; i++) {
+        sink += library.getReaderByCard(fixture.order[i % fixture.order.length] + 1)
+            .getCardNumber();
+      }
+    });
+    bench("Library.listBooks", size, passes, 1, fixture::stocked, library -> {
+      System.setOut(NOWHERE);
+      try {
+        sink += library.listBooks();
+      } finally {
+        System.setOut(CONSOLE);
+      }
+    });
+
+    bench("Shelf.addBook", size, passes, size, fixture::shelf, shelf -> {
+      for (Book book : fixture.shelfTitles) {
+        sink += shelf.addBook(book).ordinal();
+      }
+    });
+    bench("Shelf.removeBook", size, passes, size, fixture::stockedShelf, shelf -> {
+      for (Book book : fixture.shelfTitles) {
+        sink += shelf.removeBook(book).ordinal();
+      }
+    });
+    bench("Shelf.getBookCount", size, passes, LOOKUPS, fixture::stockedShelf, shelf -> {
+      for (int i = 0; i < LOOKUPS; i++) {
+        sink += shelf.getBookCount(fixture.shelfTitles[fixture.order[i % fixture.order.length]]);
+      }
+    });
+    bench("ConcurrentShelf.removeBook", size, passes, size, fixture::stockedConcurrentShelf,
+        shelf -> {
+          for (Book book : fixture.shelfTitles) {
+            sink += shelf.removeBook(book).ordinal();
+          }
+        });
+
+    bench("Reader.addBook", size, passes, (long) LENDERS * Library.LENDING_LIMIT,
+        fixture::lenders, lenders -> {
+          for (Reader reader : lenders) {
+            for (int i = 0; i < Library.LENDING_LIMIT; i++) {
+              sink += reader.addBook(fixture.titles[i % size]).ordinal();
+            }
+          }
+        });
+    bench("Reader.hasBook", size, passes, LOOKUPS, fixture::lender, reader -> {
+      for (int i = 0; i < LOOKUPS; i++) {
+        sink += reader.hasBook(fixture.titles[i % size]) ? 1 : 0;
+      }
+    });
+  }
+
+  /**
+   * Warms up and measures a benchmark, then prints its time and allocation per operation.
+   *
+   * @param name name of the benchmark
+   * @param size catalog size being measured
+   * @param passes number of measured passes
+   * @param operations operations done by one pass
+   * @param setup builds the state for one pass, untimed
+   * @param pass the timed work
+   */
+  private static <S> void bench(String name, int size, int passes, long operations,
+      Setup<S> setup, Pass<S> pass) throws IOException {
+    for (int i = 0; i < WARMUP_PASSES; i++) {
+      pass.run(setup.create());
+    }
+    long nanos = 0;
+    long bytes = 0;
+    for (int i = 0; i < passes; i++) {
+      S state = setup.create();
+      long allocated = allocatedBytes();
+      long start = System.nanoTime();
+      pass.run(state);
+      nanos += System.nanoTime() - start;
+      bytes += allocatedBytes() - allocated;
+    }
+    long count = operations * passes;
+    System.out.printf("%-26s %10d %14.1f %12s%n", name, size, (double) nanos / count,
+        THREADS == null ? "n/a" : String.format("%.1f", (double) bytes / count));
+  }
+
+  private static long allocatedBytes() {
+    return THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static com.sun.management.ThreadMXBean threadBean() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+      if (threads.isThreadAllocatedMemorySupported()) {
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+      }
+    }
+    return null; // allocation is reported as n/a
+  }
+
+  /**
+   * Builds the state one pass works on.
+   */
+  private interface Setup<S> {
+    S create();
+  }
+
+  /**
+   * The timed work of one pass.
+   */
+  private interface Pass<S> {
+    void run(S state) throws IOException;
+  }
+
+  /**
+   * Titles, readers and lookup keys for one size, created once and shared by every pass.
+   */
+  private static class Fixture {
+    private final int size;
+    private final Book[] titles;
+    private final String[] isbns;
+    private final String[] subjects;
+    private final Reader[] readers;
+    private final int[] order;        // random indexes for lookups
+    private final Book[] shelfTitles; // titles of one subject, for the shelf benchmarks
+
+    Fixture(int size) {
+      this.size = size;
+      titles = new Book[size];
+      isbns = new String[size];
+      readers = new Reader[size];
+      subjects = new String[InitBenchmark.SUBJECTS];
+      for (int i = 0; i < subjects.length; i++) {
+        subjects[i] = "subject-" + i;
+      }
+      for (int i = 0; i < size; i++) {
+        isbns[i] = "isbn-" + i;
+        titles[i] = new Book(isbns[i], "Title " + i, subjects[i % subjects.length],
+            100 + i % 900, "Author " + (i % 10_000), LocalDate.of(1970, 1, 1));
+        readers[i] = new Reader(i + 1, "Reader " + i, "555-555-" + (i % 10_000));
+      }
+      Random random = new Random(size);
+      order = new int[Math.min(size, LOOKUPS)];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = random.nextInt(size);
+      }
+      shelfTitles = new Book[size];
+      for (int i = 0; i < size; i++) {
+        shelfTitles[i] = new Book(isbns[i], "Title " + i, subjects[0],
+            100, "Author", LocalDate.of(1970, 1, 1));
+      }
+    }
+
+    Library empty() {
+      return InitBenchmark.quietLibrary();
+    }
+
+    Library shelved() {
+      Library library = empty();
+      for (String subject : subjects) {
+        library.addShelf(subject);
+      }
+      return library;
+    }
+
+    Library unshelved() {
+      Library library = empty();
+      for (Book book : titles) {
+        library.addBook(book);
+      }
+      return library;
+    }
+
+    Library stocked() {
+      Library library = shelved();
+      for (Book book : titles) {
+        library.addBook(book);
+      }
+      for (Reader reader : readers) {
+        reader.setBooks(new ArrayList<>());
+        library.addReader(reader);
+      }
+      return library;
+    }
+
+    Library lent() {
+      Library library = stocked();
+      for (int i = 0; i < size; i++) {
+        library.checkOutBook(readers[i % size], titles[i % size]);
+      }
+      return library;
+    }
+
+    Shelf shelf() {
+      Shelf shelf = new Shelf();
+      shelf.setEventSink(EventSink.NO_OP);
+      shelf.setSubject(subjects[0]);
+      return shelf;
+    }
+
+    Shelf stockedShelf() {
+      return stock(shelf());
+    }
+
+    Shelf stockedConcurrentShelf() {
+      Shelf shelf = new ConcurrentShelf();
+      shelf.setEventSink(EventSink.NO_OP);
+      shelf.setSubject(subjects[0]);
+      return stock(shelf);
+    }
+
+    private Shelf stock(Shelf shelf) {
+      for (Book book : shelfTitles) {
+        shelf.addBook(book);
+      }
+      return shelf;
+    }
+
+    Reader[] lenders() {
+      Reader[] lenders = new Reader[LENDERS];
+      for (int i = 0; i < LENDERS; i++) {
+        lenders[i] = new Reader(i + 1, "Reader " + i, "555-555-5555");
+      }
+      return lenders;
+    }
+
+    Reader lender() {
+      Reader reader = new Reader(1, "Reader", "555-555-5555");
+      for (int i = 0; i < Library.LENDING_LIMIT; i++) {
+        reader.addBook(titles[(i * 7) % size]);
+      }
+      return reader;
+    }
+  }
+}
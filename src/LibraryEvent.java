@@ -0,0 +1,78 @@
+import java.util.function.BiFunction;
+
+/**
+ * Title: LibraryEvent.java
+ * Abstract: Events raised by a Library and its shelves, with the message each one prints.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+public enum LibraryEvent {
+
+  FILE_NOT_FOUND((error, none) -> "could not find the file " + error),
+  PARSING_BOOKS((count, none) -> "parsing " + count + " books"),
+  SNAPSHOT_FAILED((file, error) -> "could not use the snapshot " + file + ": " + error),
+  EXPORT_FAILED((file, error) -> "could not export the library to " + file + ": " + error),
+  JOURNAL_FAILED((file, error) -> "could not write the journal " + file + ": " + error),
+  LIST_FAILED((out, error) -> "could not write the listing to " + out + ": " + error),
+  PARSING_SHELVES((count, none) -> "parsing " + count + " shelves"),
+  PARSING_READERS((count, none) -> "parsing " + count + " readers"),
+  SHELF_COUNT_MISMATCH((count, none) -> "Number of shelves doesn't match expected"),
+  LOAN_NOT_IN_LIBRARY((isbn, none) -> "ERROR"),
+  TITLE_ADDED((book, none) -> ((Book) book).getTitle() + " added to the stacks."),
+  COPY_ADDED((book, copies) -> copies + " copies of " + ((Book) book).getTitle() + " in the stacks"),
+  NO_SHELF_FOR_SUBJECT((subject, none) -> "No shelf for " + subject + " books"),
+  NO_SHELF_FOR_BOOK((book, none) -> "No shelf for " + book),
+  BOOK_ADDED_TO_SHELF((book, none) -> book + " added to shelf"),
+  BOOK_NOT_ADDED_TO_SHELF((book, none) -> "Could not add " + book + " to shelf"),
+  READER_DOESNT_HAVE_BOOK((reader, book) -> ((Reader) reader).getName() + " doesn't have "
+      + ((Book) book).getTitle() + " checked out"),
+  RETURNING((reader, book) -> ((Reader) reader).getName() + " is returning " + book),
+  RETURN_FAILED((book, none) -> "Could not return " + book),
+  READER_HAS_NO_ACCOUNT((reader, none) -> ((Reader) reader).getName()
+      + " doesn't have an account here"),
+  LENDING_LIMIT_REACHED((reader, none) -> ((Reader) reader).getName()
+      + " has reached the lending limit, (" + Library.LENDING_LIMIT + ")"),
+  BOOK_NOT_FOUND((book, none) -> "ERROR: could not find " + book),
+  NO_SHELF_FOR_CHECKOUT((subject, none) -> "no shelf for " + subject + " books!"),
+  NO_COPIES_REMAIN((book, none) -> "ERROR: no copies of " + book + " remain"),
+  CHECKOUT_FAILED((book, none) -> "Couldn't checkout " + book),
+  CHECKED_OUT((book, none) -> book + " checked out successfully"),
+  LOAN_OVERDUE((loan, today) -> "Overdue on " + today + ": " + loan),
+  ISBN_NOT_FOUND((isbn, none) -> "ERROR: Could not find a book with isbn: " + isbn),
+  SHELF_EXISTS((shelf, none) -> "ERROR: Shelf already exists " + shelf),
+  SHELF_NUMBER_NOT_FOUND((number, none) -> "No shelf number " + number + " found"),
+  CARD_NOT_FOUND((card, none) -> "Could not find a reader with card #" + card),
+  READER_EXISTS((reader, none) -> ((Reader) reader).getName() + " already has an account!"),
+  DUPLICATE_CARD((existing, reader) -> ((Reader) existing).getName() + " and "
+      + ((Reader) reader).getName() + " have the same card number!"),
+  READER_ADDED((reader, none) -> ((Reader) reader).getName() + " added to the library!"),
+  READER_HAS_BOOKS((reader, none) -> ((Reader) reader).getName() + " must return all books!"),
+  READER_NOT_IN_LIBRARY((reader, none) -> ((Reader) reader).getName()
+      + " is not part of this Library"),
+  SHELF_BOOK_ADDED((book, shelf) -> book + " added to shelf " + shelf),
+  SHELF_BOOK_MISSING((book, shelf) -> ((Book) book).getTitle() + " is not on shelf "
+      + ((Shelf) shelf).getSubject()),
+  SHELF_BOOK_EXHAUSTED((book, shelf) -> "No copies of " + ((Book) book).getTitle()
+      + " remain on shelf " + ((Shelf) shelf).getSubject()),
+  SHELF_BOOK_REMOVED((book, shelf) -> ((Book) book).getTitle()
+      + " successfully removed from shelf " + ((Shelf) shelf).getSubject());
+
+  private final BiFunction<Object, Object, String> message;
+
+  LibraryEvent(BiFunction<Object, Object, String> message) {
+    this.message = message;
+  }
+
+  /**
+   * Builds the message for this event.
+   *
+   * @param subject object the event is about
+   * @param detail additional object for the event or null
+   * @return the message describing the event
+   */
+  public String format(Object subject, Object detail) {
+    return message.apply(subject, detail);
+  }
+}
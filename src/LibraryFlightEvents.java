@@ -0,0 +1,195 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Title: LibraryFlightEvents.java
+ * Abstract: Java Flight Recorder events for a library's init and its phases, checkouts,
+ *           returns and new shelves, so a recording shows library activity next to GC,
+ *           lock and CPU profiles. Each event is begun before the operation and ended
+ *           with its result; its fields are only filled in if the recording wants the
+ *           event, so with no recording running an event costs a check of a flag and
+ *           the JIT drops the event object. Stack traces are left out to keep events
+ *           cheap while recording. Enable them all with the "Library" category.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/en/java/javase/17/docs/api/jdk.jfr/jdk/jfr/Event.html
+ */
+
+public final class LibraryFlightEvents {
+
+  private LibraryFlightEvents() {
+  }
+
+  @Name("library.Init")
+  @Label("Library Init")
+  @Description("Library populated from a CSV file")
+  @Category("Library")
+  @StackTrace(false)
+  public static class Init extends Event {
+    @Label("File")
+    String file;
+
+    @Label("Result")
+    String result;
+
+    /**
+     * Ends the event with the result of the init.
+     *
+     * @param file name of the file read
+     * @param result result of the init
+     * @return result
+     */
+    Code finish(String file, Code result) {
+      if (shouldCommit()) {
+        this.file = file;
+        this.result = result.name();
+        commit();
+      }
+      return result;
+    }
+  }
+
+  @Name("library.InitPhase")
+  @Label("Library Init Phase")
+  @Description("Books, shelves or readers section of a CSV file read by init")
+  @Category("Library")
+  @StackTrace(false)
+  public static class InitPhase extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Records")
+    int records;
+
+    @Label("Result")
+    String result;
+
+    /**
+     * Ends the event with the result of the phase.
+     *
+     * @param phase "books", "shelves" or "readers"
+     * @param records number of records the section said it holds
+     * @param result result of the phase
+     * @return result
+     */
+    Code finish(String phase, int records, Code result) {
+      if (shouldCommit()) {
+        this.phase = phase;
+        this.records = records;
+        this.result = result.name();
+        commit();
+      }
+      return result;
+    }
+  }
+
+  @Name("library.CheckOut")
+  @Label("Library Check Out")
+  @Category("Library")
+  @StackTrace(false)
+  public static class CheckOut extends Event {
+    @Label("ISBN")
+    String isbn;
+
+    @Label("Subject")
+    String subject;
+
+    @Label("Card Number")
+    int cardNumber;
+
+    @Label("Result")
+    String result;
+
+    /**
+     * Ends the event with the result of the checkout.
+     *
+     * @param reader reader checking out the book
+     * @param book book checked out
+     * @param result result of the checkout
+     * @return result
+     */
+    Code finish(Reader reader, Book book, Code result) {
+      if (shouldCommit()) {
+        this.isbn = book.getIsbn();
+        this.subject = book.getSubject();
+        this.cardNumber = reader.getCardNumber();
+        this.result = result.name();
+        commit();
+      }
+      return result;
+    }
+  }
+
+  @Name("library.Return")
+  @Label("Library Return")
+  @Category("Library")
+  @StackTrace(false)
+  public static class Return extends Event {
+    @Label("ISBN")
+    String isbn;
+
+    @Label("Subject")
+    String subject;
+
+    @Label("Card Number")
+    int cardNumber;
+
+    @Label("Result")
+    String result;
+
+    /**
+     * Ends the event with the result of the return.
+     *
+     * @param reader reader returning the book
+     * @param book book returned
+     * @param result result of the return
+     * @return result
+     */
+    Code finish(Reader reader, Book book, Code result) {
+      if (shouldCommit()) {
+        this.isbn = book.getIsbn();
+        this.subject = book.getSubject();
+        this.cardNumber = reader.getCardNumber();
+        this.result = result.name();
+        commit();
+      }
+      return result;
+    }
+  }
+
+  @Name("library.AddShelf")
+  @Label("Library Add Shelf")
+  @Category("Library")
+  @StackTrace(false)
+  public static class AddShelf extends Event {
+    @Label("Subject")
+    String subject;
+
+    @Label("Shelf Number")
+    int shelfNumber;
+
+    @Label("Result")
+    String result;
+
+    /**
+     * Ends the event with the result of adding the shelf.
+     *
+     * @param shelf shelf added, numbered if it was added
+     * @param result result of adding the shelf
+     * @return result
+     */
+    Code finish(Shelf shelf, Code result) {
+      if (shouldCommit()) {
+        this.subject = shelf.getSubject();
+        this.shelfNumber = shelf.getShelfNumber();
+        this.result = result.name();
+        commit();
+      }
+      return result;
+    }
+  }
+}
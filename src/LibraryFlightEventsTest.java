@@ -0,0 +1,112 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: LibraryFlightEventsTest.java
+ * Abstract: Tests the LibraryFlightEvents class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class LibraryFlightEventsTest {
+
+  Library library;
+  Path file;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    library = new Library("Library");
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    file = Files.createTempFile("library", ".jfr");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+    library = null;
+  }
+
+  @Test
+  void recording() throws IOException {
+    Code again;
+    try (Recording recording = new Recording()) {
+      for (String event : List.of("library.Init", "library.InitPhase", "library.CheckOut",
+          "library.Return", "library.AddShelf")) {
+        recording.enable(event).withThreshold(Duration.ZERO);
+      }
+      recording.start();
+      assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+      Reader drew = library.getReaderByCard(1);
+      Book dune = library.getBookByISBN("34-w-34");
+      assertEquals(Code.SUCCESS, library.checkOutBook(drew, dune));
+      again = library.checkOutBook(drew, dune); // the only copy is out
+      assertEquals(Code.SUCCESS, library.returnBook(drew, dune));
+      assertEquals(List.of(Code.SUCCESS), library.checkOutBooks(drew, List.of(dune)));
+      assertEquals(List.of(Code.SUCCESS), library.returnBooks(drew, List.of(dune)));
+      assertEquals(Code.SHELF_EXISTS_ERROR, library.addShelf("sci-fi"));
+      assertEquals(Code.SUCCESS, library.addShelf("poetry"));
+      recording.stop();
+      recording.dump(file);
+    }
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+    List<RecordedEvent> inits = named(events, "library.Init");
+    assertEquals(1, inits.size());
+    assertEquals("Library00.csv", inits.get(0).getString("file"));
+    assertEquals("SUCCESS", inits.get(0).getString("result"));
+    assertEquals(List.of("books", "shelves", "readers"), named(events, "library.InitPhase")
+        .stream().map(event -> event.getString("phase")).collect(Collectors.toList()));
+
+    // the 7 loans in the file, then Drew's checkouts of Dune, the last one in a batch
+    List<RecordedEvent> checkOuts = named(events, "library.CheckOut");
+    assertEquals(10, checkOuts.size());
+    RecordedEvent checkOut = checkOuts.get(7);
+    assertEquals("34-w-34", checkOut.getString("isbn"));
+    assertEquals("sci-fi", checkOut.getString("subject"));
+    assertEquals(1, checkOut.getInt("cardNumber"));
+    assertEquals("SUCCESS", checkOut.getString("result"));
+    assertEquals(again.name(), checkOuts.get(8).getString("result"));
+    assertEquals("SUCCESS", checkOuts.get(9).getString("result"));
+
+    List<RecordedEvent> returns = named(events, "library.Return");
+    assertEquals(2, returns.size());
+    assertEquals("34-w-34", returns.get(1).getString("isbn"));
+    RecordedEvent giveBack = returns.get(0);
+    assertEquals("34-w-34", giveBack.getString("isbn"));
+    assertEquals(1, giveBack.getInt("cardNumber"));
+
+    List<RecordedEvent> shelves = named(events, "library.AddShelf");
+    assertEquals(5, shelves.size()); // 3 from the file
+    assertEquals("SHELF_EXISTS_ERROR", shelves.get(3).getString("result"));
+    assertEquals("poetry", shelves.get(4).getString("subject"));
+    assertEquals(4, shelves.get(4).getInt("shelfNumber"));
+    assertTrue(shelves.get(4).getDuration().toNanos() >= 0);
+  }
+
+  private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> named = new ArrayList<>();
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals(name)) {
+        named.add(event);
+      }
+    }
+    named.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+    return named;
+  }
+}
@@ -0,0 +1,217 @@
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Title: LibraryMetrics.java
+ * Abstract: Counts and times a library's operations: how many ended with each result
+ *           Code, how many a second, and a LatencyHistogram of how long they took.
+ *           Counts are LongAdders and histograms are atomic, so recording never takes a
+ *           lock and threads recording at once barely touch the same memory. Register the
+ *           metrics to read them over JMX in any JVM, under
+ *           Library:type=Metrics,name=<library name>.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/atomic/LongAdder.html
+ *             https://docs.oracle.com/javase/8/docs/api/java/lang/management/ManagementFactory.html
+ */
+
+public class LibraryMetrics implements LibraryMetricsMXBean {
+
+  /**
+   * Operations a library times.
+   */
+  public enum Operation {
+    INIT, INIT_BOOKS, INIT_SHELVES, INIT_READERS,
+    ADD_BOOK, ADD_READER, CHECK_OUT, RETURN,
+    GET_BOOK_BY_ISBN, GET_READER_BY_CARD, GET_SHELF, SEARCH
+  }
+
+  private static final Operation[] OPERATIONS = Operation.values();
+  private static final Code[] CODES = Code.values();
+
+  private final LongAdder[][] counts; // by operation, then result
+  private final LatencyHistogram[] latencies;
+  private volatile long started;      // when counting began, by System.nanoTime
+  private ObjectName registered;
+
+  public LibraryMetrics() {
+    this.counts = new LongAdder[OPERATIONS.length][CODES.length];
+    this.latencies = new LatencyHistogram[OPERATIONS.length];
+    for (int i = 0; i < OPERATIONS.length; i++) {
+      for (int j = 0; j < CODES.length; j++) {
+        counts[i][j] = new LongAdder();
+      }
+      latencies[i] = new LatencyHistogram();
+    }
+    this.started = System.nanoTime();
+  }
+
+  /**
+   * Counts an operation that has just ended. Safe to call from any thread.
+   *
+   * @param operation operation that ended
+   * @param code result of the operation
+   * @param start System.nanoTime when it started
+   */
+  public void record(Operation operation, Code code, long start) {
+    long nanos = System.nanoTime() - start;
+    counts[operation.ordinal()][code.ordinal()].increment();
+    latencies[operation.ordinal()].record(nanos);
+  }
+
+  /**
+   * Returns how many times an operation ended with a result.
+   *
+   * @param operation operation to be counted
+   * @param code result to be counted
+   * @return count since the metrics were made or reset
+   */
+  public long getCount(Operation operation, Code code) {
+    return counts[operation.ordinal()][code.ordinal()].sum();
+  }
+
+  /**
+   * Returns how many times an operation ended, whatever the result.
+   *
+   * @param operation operation to be counted
+   * @return count since the metrics were made or reset
+   */
+  public long getCount(Operation operation) {
+    long count = 0;
+    for (LongAdder adder : counts[operation.ordinal()]) {
+      count += adder.sum();
+    }
+    return count;
+  }
+
+  public LatencyHistogram getLatency(Operation operation) {
+    return latencies[operation.ordinal()];
+  }
+
+  /**
+   * Returns how many times a second an operation has ended on average.
+   *
+   * @param operation operation to be counted
+   * @return operations a second since the metrics were made or reset
+   */
+  public double getThroughput(Operation operation) {
+    double seconds = (System.nanoTime() - started) / 1e9;
+    return seconds <= 0 ? 0 : getCount(operation) / seconds;
+  }
+
+  @Override
+  public long getUptimeMillis() {
+    return (System.nanoTime() - started) / 1_000_000;
+  }
+
+  @Override
+  public Map<String, Long> getCounts() {
+    Map<String, Long> all = new TreeMap<>();
+    for (Operation operation : OPERATIONS) {
+      for (Code code : CODES) {
+        long count = getCount(operation, code);
+        if (count > 0) {
+          all.put(operation + "." + code, count);
+        }
+      }
+    }
+    return all;
+  }
+
+  @Override
+  public Map<String, Double> getThroughputPerSecond() {
+    Map<String, Double> all = new TreeMap<>();
+    for (Operation operation : OPERATIONS) {
+      all.put(operation.toString(), getThroughput(operation));
+    }
+    return all;
+  }
+
+  @Override
+  public Map<String, Long> getLatencyP50Nanos() {
+    return byOperation(latency -> latency.getPercentile(50));
+  }
+
+  @Override
+  public Map<String, Long> getLatencyP99Nanos() {
+    return byOperation(latency -> latency.getPercentile(99));
+  }
+
+  @Override
+  public Map<String, Long> getLatencyP999Nanos() {
+    return byOperation(latency -> latency.getPercentile(99.9));
+  }
+
+  @Override
+  public Map<String, Long> getLatencyMaxNanos() {
+    return byOperation(LatencyHistogram::getMax);
+  }
+
+  /**
+   * Starts counting again from nothing.
+   */
+  @Override
+  public void reset() {
+    for (int i = 0; i < OPERATIONS.length; i++) {
+      for (LongAdder adder : counts[i]) {
+        adder.reset();
+      }
+      latencies[i].reset();
+    }
+    started = System.nanoTime();
+  }
+
+  /**
+   * Makes the metrics readable over JMX from the platform MBean server, in place of
+   * any name they were registered under before.
+   *
+   * @param libraryName name the metrics are registered under
+   * @return success or appropriate error code
+   */
+  public synchronized Code register(String libraryName) {
+    try {
+      ObjectName name = new ObjectName("Library:type=Metrics,name="
+          + ObjectName.quote(libraryName));
+      unregister();
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+      registered = name;
+      return Code.SUCCESS;
+    } catch (JMException e) {
+      return Code.METRICS_ERROR;
+    }
+  }
+
+  /**
+   * Removes the metrics from JMX if they were registered.
+   */
+  public synchronized void unregister() {
+    if (registered == null) {
+      return;
+    }
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      server.unregisterMBean(registered);
+    } catch (JMException e) {
+      // already gone
+    }
+    registered = null;
+  }
+
+  public synchronized ObjectName getObjectName() {
+    return registered;
+  }
+
+  private Map<String, Long> byOperation(ToLongFunction<LatencyHistogram> value) {
+    Map<String, Long> all = new TreeMap<>();
+    for (Operation operation : OPERATIONS) {
+      all.put(operation.toString(), value.applyAsLong(latencies[operation.ordinal()]));
+    }
+    return all;
+  }
+}
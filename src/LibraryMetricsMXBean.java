@@ -0,0 +1,30 @@
+import java.util.Map;
+
+/**
+ * Title: LibraryMetricsMXBean.java
+ * Abstract: What a library's metrics show over JMX, such as in JConsole or VisualVM.
+ *           Each map is keyed by operation, or by operation and result for the counts,
+ *           and shows as a table.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/javax/management/MXBean.html
+ */
+
+public interface LibraryMetricsMXBean {
+
+  long getUptimeMillis();
+
+  Map<String, Long> getCounts();
+
+  Map<String, Double> getThroughputPerSecond();
+
+  Map<String, Long> getLatencyP50Nanos();
+
+  Map<String, Long> getLatencyP99Nanos();
+
+  Map<String, Long> getLatencyP999Nanos();
+
+  Map<String, Long> getLatencyMaxNanos();
+
+  void reset();
+}
@@ -0,0 +1,148 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: LibraryMetricsTest.java
+ * Abstract: Tests the LibraryMetrics class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class LibraryMetricsTest {
+
+  LibraryMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    metrics = new LibraryMetrics();
+  }
+
+  @AfterEach
+  void tearDown() {
+    metrics.unregister();
+    metrics = null;
+  }
+
+  @Test
+  void library() {
+    Library library = new Library("Library");
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    library.setMetrics(metrics);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    assertEquals(1, metrics.getCount(LibraryMetrics.Operation.INIT, Code.SUCCESS));
+    assertEquals(1, metrics.getCount(LibraryMetrics.Operation.INIT_BOOKS));
+    assertEquals(1, metrics.getCount(LibraryMetrics.Operation.INIT_SHELVES));
+    assertEquals(1, metrics.getCount(LibraryMetrics.Operation.INIT_READERS));
+    assertEquals(9, metrics.getCount(LibraryMetrics.Operation.ADD_BOOK));
+    assertEquals(4, metrics.getCount(LibraryMetrics.Operation.ADD_READER, Code.SUCCESS));
+    assertEquals(7, metrics.getCount(LibraryMetrics.Operation.CHECK_OUT, Code.SUCCESS));
+
+    Reader drew = library.getReaderByCard(1);
+    assertNull(library.getReaderByCard(99));
+    assertEquals(1, metrics.getCount(LibraryMetrics.Operation.GET_READER_BY_CARD,
+        Code.READER_NOT_IN_LIBRARY_ERROR));
+    Book dune = library.getBookByISBN("34-w-34");
+    assertEquals(Code.READER_DOESNT_HAVE_BOOK_ERROR, library.returnBook(drew, dune));
+    assertEquals(Code.SUCCESS, library.returnBook(drew, library.getBookByISBN("1337")));
+    assertEquals(1, metrics.getCount(LibraryMetrics.Operation.RETURN, Code.SUCCESS));
+    assertEquals(2, metrics.getCount(LibraryMetrics.Operation.RETURN));
+
+    LatencyHistogram checkOuts = metrics.getLatency(LibraryMetrics.Operation.CHECK_OUT);
+    assertEquals(7, checkOuts.getCount());
+    assertTrue(checkOuts.getPercentile(50) > 0);
+    assertTrue(checkOuts.getPercentile(99.9) <= checkOuts.getMax());
+    assertTrue(metrics.getThroughput(LibraryMetrics.Operation.CHECK_OUT) > 0);
+
+    library.setMetrics(null);
+    library.getBookByISBN("34-w-34");
+    // 7 for the loans in the file and 2 above, none once the metrics were taken away
+    assertEquals(9, metrics.getCount(LibraryMetrics.Operation.GET_BOOK_BY_ISBN));
+    metrics.reset();
+    assertEquals(0, metrics.getCount(LibraryMetrics.Operation.ADD_BOOK));
+  }
+
+  @Test
+  void batches() {
+    Library library = new Library("Library");
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    library.setMetrics(metrics);
+    Reader reader = new Reader(5, "Reader Five", "555-555-5555");
+    library.addReader(reader);
+    List<Book> batch = List.of(library.getBookByISBN("34-w-34"),
+        library.getBookByISBN("5297"));
+    assertEquals(List.of(Code.SUCCESS, Code.SUCCESS), library.checkOutBooks(reader, batch));
+    assertEquals(2, metrics.getCount(LibraryMetrics.Operation.CHECK_OUT, Code.SUCCESS));
+    assertEquals(2, metrics.getLatency(LibraryMetrics.Operation.CHECK_OUT).getCount());
+    assertEquals(List.of(Code.SUCCESS, Code.SUCCESS), library.returnBooks(reader, batch));
+    assertEquals(2, metrics.getCount(LibraryMetrics.Operation.RETURN, Code.SUCCESS));
+
+    Reader stranger = new Reader(6, "Reader Six", "555-555-6666");
+    library.checkOutBooks(stranger, batch);
+    assertEquals(2, metrics.getCount(LibraryMetrics.Operation.CHECK_OUT,
+        Code.READER_NOT_IN_LIBRARY_ERROR));
+  }
+
+  @Test
+  void concurrentLibrary() throws InterruptedException {
+    Library library = new ConcurrentLibrary("Library");
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    library.setMetrics(metrics);
+    Reader jennifer = library.getReaderByCard(2);
+    Book java = library.getBookByISBN("1337");
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread(() -> {
+        for (int i = 0; i < 1000; i++) {
+          library.checkOutBook(jennifer, java);
+          library.returnBook(jennifer, java);
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(4000, metrics.getCount(LibraryMetrics.Operation.CHECK_OUT));
+    assertEquals(4000, metrics.getCount(LibraryMetrics.Operation.RETURN));
+    assertEquals(metrics.getCount(LibraryMetrics.Operation.CHECK_OUT, Code.SUCCESS),
+        metrics.getCount(LibraryMetrics.Operation.RETURN, Code.SUCCESS));
+    assertEquals(1, metrics.getCount(LibraryMetrics.Operation.GET_READER_BY_CARD));
+  }
+
+  @Test
+  void mbean() throws JMException {
+    metrics.record(LibraryMetrics.Operation.SEARCH, Code.SUCCESS, System.nanoTime() - 5000);
+    assertEquals(Code.SUCCESS, metrics.register("Main \"Library\""));
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    assertTrue(server.isRegistered(metrics.getObjectName()));
+
+    TabularData counts = (TabularData) server.getAttribute(metrics.getObjectName(), "Counts");
+    CompositeData row = counts.get(new Object[] {"SEARCH.SUCCESS"});
+    assertEquals(1L, row.get("value"));
+    TabularData p99 = (TabularData) server.getAttribute(metrics.getObjectName(),
+        "LatencyP99Nanos");
+    assertTrue((Long) p99.get(new Object[] {"SEARCH"}).get("value") >= 5000);
+
+    server.invoke(metrics.getObjectName(), "reset", null, null);
+    assertEquals(0, metrics.getCount(LibraryMetrics.Operation.SEARCH));
+    metrics.unregister();
+    assertNull(metrics.getObjectName());
+  }
+}
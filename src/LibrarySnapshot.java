@@ -0,0 +1,498 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Title: LibrarySnapshot.java
+ * Abstract: Binary image of a library's books, shelves, readers and loans, so a library
+ *           can be restored without parsing CSV text or replaying checkouts.
+ *           The file holds a header (magic number, format version, CRC32 and length of
+ *           the body) followed by the body. Every title is written once and shelves and
+ *           loans refer to it by index, and subjects and authors are written once in a
+ *           string table, so loading shares the same objects the way a parsed library does.
+ *           Files are written next to their target and moved into place when complete,
+ *           so a crash while saving never leaves a half written snapshot behind.
+ *           The body also records the last journal record the snapshot includes and the
+ *           due date of every loan.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/io/DataOutputStream.html
+ *             https://docs.oracle.com/javase/8/docs/api/java/util/zip/CRC32.html
+ */
+
+public class LibrarySnapshot {
+
+  public static final int MAGIC = 0x4C494253; // "LIBS"
+  public static final short VERSION = 1;
+  public static final int BUFFER_SIZE = 1 << 16;
+
+  private static final int CHECKSUM_OFFSET = Integer.BYTES + Short.BYTES;
+  private static final int HEADER_SIZE = CHECKSUM_OFFSET + 2 * Long.BYTES;
+  private static final long NO_DATE = Long.MIN_VALUE;
+  private static final int NOT_OWNED = -1; // title only known from a shelf or a loan
+
+  private int lastShelfNumber;
+  private long journalSequence;
+  private Map<Book, Integer> books;
+  private List<Shelf> shelves;
+  private List<Reader> readers;
+
+  /**
+   * Constructs an empty snapshot to be read from a file.
+   */
+  public LibrarySnapshot() {
+    this(0, 0, new LinkedHashMap<>(), new ArrayList<>(), new ArrayList<>());
+  }
+
+  /**
+   * Constructs a snapshot of a library's state to be written to a file.
+   *
+   * @param lastShelfNumber number given to the last shelf added
+   * @param journalSequence sequence number of the last journal record included
+   * @param books titles the library owns and how many copies of each
+   * @param shelves shelves of the library
+   * @param readers readers of the library in the order they registered
+   */
+  public LibrarySnapshot(int lastShelfNumber, long journalSequence, Map<Book, Integer> books,
+                         Iterable<Shelf> shelves, Iterable<Reader> readers) {
+    this.lastShelfNumber = lastShelfNumber;
+    this.journalSequence = journalSequence;
+    this.books = books;
+    this.shelves = new ArrayList<>();
+    shelves.forEach(this.shelves::add);
+    this.readers = new ArrayList<>();
+    readers.forEach(this.readers::add);
+  }
+
+  public int getLastShelfNumber() {
+    return lastShelfNumber;
+  }
+
+  public long getJournalSequence() {
+    return journalSequence;
+  }
+
+  public Map<Book, Integer> getBooks() {
+    return books;
+  }
+
+  public List<Shelf> getShelves() {
+    return shelves;
+  }
+
+  public List<Reader> getReaders() {
+    return readers;
+  }
+
+  /**
+   * Writes the snapshot to a file, replacing it only once the whole snapshot is written.
+   *
+   * @param filename file to be written
+   * @throws IOException if the snapshot could not be written
+   */
+  public void write(String filename) throws IOException {
+    Path target = Paths.get(filename).toAbsolutePath();
+    Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+    try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+      DataOutputStream header = new DataOutputStream(file);
+      header.writeInt(MAGIC);
+      header.writeShort(VERSION);
+      header.writeLong(0); // checksum and body length, filled in below
+      header.writeLong(0);
+      // the checksum sits under the buffer so it is updated a whole buffer at a time
+      CRC32 crc = new CRC32();
+      DataOutputStream body = new DataOutputStream(
+          new BufferedOutputStream(new CheckedOutputStream(file, crc), BUFFER_SIZE));
+      writeBody(body);
+      body.flush();
+      ByteBuffer summary = ByteBuffer.allocate(2 * Long.BYTES);
+      long bodySize = file.getChannel().position() - HEADER_SIZE;
+      summary.putLong(crc.getValue()).putLong(bodySize).flip();
+      file.getChannel().write(summary, CHECKSUM_OFFSET);
+      file.getFD().sync();
+    } catch (IOException e) {
+      Files.deleteIfExists(temporary);
+      throw e;
+    }
+    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private void writeBody(DataOutputStream out) throws IOException {
+    // every title: owned ones first, then any only found on a shelf or in a loan.
+    // Shelf stock and loans are turned into title indexes on the way, so no title
+    // is looked up twice.
+    Map<Book, Integer> titles = new LinkedHashMap<>(books.size() * 4 / 3 + 1);
+    int[] owned = new int[books.size()]; // copies of each owned title, by title index
+    for (Map.Entry<Book, Integer> entry : books.entrySet()) {
+      owned[titles.size()] = entry.getValue();
+      titles.put(entry.getKey(), titles.size());
+    }
+    int[][] stock = new int[shelves.size()][];
+    for (int i = 0; i < stock.length; i++) {
+      HashMap<Book, Integer> shelfBooks = shelves.get(i).getBooks();
+      stock[i] = new int[shelfBooks.size() * 2]; // title index and count pairs
+      int k = 0;
+      for (Map.Entry<Book, Integer> entry : shelfBooks.entrySet()) {
+        stock[i][k++] = indexOf(titles, entry.getKey());
+        stock[i][k++] = entry.getValue();
+      }
+    }
+    int[][] loans = new int[readers.size()][];
+    for (int i = 0; i < loans.length; i++) {
+      List<Book> readerBooks = readers.get(i).getBooks();
+      loans[i] = new int[readerBooks.size()];
+      for (int k = 0; k < loans[i].length; k++) {
+        loans[i][k] = indexOf(titles, readerBooks.get(k));
+      }
+    }
+
+    // subjects and authors repeat across titles, so they are written once
+    Map<String, Integer> strings = new HashMap<>();
+    List<String> table = new ArrayList<>();
+    int[] refs = new int[titles.size() * 2];
+    int t = 0;
+    for (Book book : titles.keySet()) {
+      refs[t++] = intern(strings, table, book.getSubject());
+      refs[t++] = intern(strings, table, book.getAuthor());
+    }
+    out.writeInt(table.size());
+    for (String string : table) {
+      writeString(out, string);
+    }
+
+    out.writeInt(lastShelfNumber);
+    out.writeLong(journalSequence);
+    out.writeInt(titles.size());
+    int index = 0;
+    for (Book book : titles.keySet()) {
+      writeString(out, book.getIsbn());
+      writeString(out, book.getTitle());
+      out.writeInt(refs[2 * index]);
+      out.writeInt(refs[2 * index + 1]);
+      out.writeInt(book.getPageCount());
+      out.writeLong(book.getDueDate() == null ? NO_DATE : book.getDueDate().toEpochDay());
+      out.writeInt(index < owned.length ? owned[index] : NOT_OWNED);
+      index++;
+    }
+
+    out.writeInt(shelves.size());
+    for (int i = 0; i < stock.length; i++) {
+      out.writeInt(shelves.get(i).getShelfNumber());
+      writeString(out, shelves.get(i).getSubject());
+      out.writeInt(stock[i].length / 2);
+      for (int value : stock[i]) {
+        out.writeInt(value);
+      }
+    }
+
+    out.writeInt(readers.size());
+    for (int i = 0; i < loans.length; i++) {
+      Reader reader = readers.get(i);
+      out.writeInt(reader.getCardNumber());
+      writeString(out, reader.getName());
+      writeString(out, reader.getPhone());
+      out.writeInt(loans[i].length);
+      for (int k = 0; k < loans[i].length; k++) {
+        out.writeInt(loans[i][k]);
+        LocalDate dueDate = reader.getDueDate(reader.getBooks().get(k));
+        out.writeLong(dueDate == null ? NO_DATE : dueDate.toEpochDay());
+      }
+    }
+  }
+
+  private static int indexOf(Map<Book, Integer> titles, Book book) {
+    Integer index = titles.putIfAbsent(book, titles.size());
+    return index == null ? titles.size() - 1 : index;
+  }
+
+  private static int intern(Map<String, Integer> strings, List<String> table, String string) {
+    Integer index = strings.putIfAbsent(string, table.size());
+    if (index == null) {
+      table.add(string);
+      return table.size() - 1;
+    }
+    return index;
+  }
+
+  private static void writeString(DataOutputStream out, String string) throws IOException {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads a snapshot from a file into this object. Nothing is kept unless
+   * the whole file is read and its checksum matches.
+   *
+   * @param filename file to be read
+   * @param newShelf creates the shelves to be filled in
+   * @return success or appropriate error code
+   * @throws IOException if the file could not be read
+   */
+  public Code read(String filename, Supplier<Shelf> newShelf) throws IOException {
+    try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining() && channel.read(header) >= 0) {
+        // read the whole header
+      }
+      header.flip();
+      if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+        return Code.SNAPSHOT_FORMAT_ERROR;
+      }
+      short version = header.getShort();
+      if (version != VERSION) {
+        return Code.SNAPSHOT_VERSION_ERROR;
+      }
+      long checksum = header.getLong();
+      long bodySize = header.getLong();
+      if (bodySize != channel.size() - HEADER_SIZE) {
+        return Code.SNAPSHOT_FORMAT_ERROR; // cut short or added to
+      }
+
+      BlockInput in = new BlockInput(channel);
+      LibrarySnapshot body = new LibrarySnapshot();
+      boolean complete;
+      try {
+        complete = body.readBody(in, newShelf);
+      } catch (EOFException | DateTimeException e) {
+        complete = false;
+      }
+      // a damaged body is reported as damage, not as whatever it was misread as
+      if (in.checksumRest() != checksum) {
+        return Code.SNAPSHOT_CHECKSUM_ERROR;
+      }
+      if (!complete) {
+        return Code.SNAPSHOT_FORMAT_ERROR;
+      }
+      lastShelfNumber = body.lastShelfNumber;
+      journalSequence = body.journalSequence;
+      books = body.books;
+      shelves = body.shelves;
+      readers = body.readers;
+      return Code.SUCCESS;
+    }
+  }
+
+  /**
+   * Reads the body of a snapshot.
+   *
+   * @param in input positioned after the header
+   * @param newShelf creates the shelves to be filled in
+   * @return false if the body refers to something it doesn't hold
+   * @throws IOException if the body could not be read
+   */
+  private boolean readBody(BlockInput in, Supplier<Shelf> newShelf) throws IOException {
+    int stringCount = in.readInt();
+    if (stringCount < 0) {
+      return false;
+    }
+    String[] strings = new String[capacity(stringCount)];
+    for (int i = 0; i < stringCount; i++) {
+      if (i == strings.length) {
+        strings = Arrays.copyOf(strings, strings.length * 2);
+      }
+      strings[i] = in.readString();
+    }
+
+    lastShelfNumber = in.readInt();
+    journalSequence = in.readLong();
+    int titleCount = in.readInt();
+    if (titleCount < 0) {
+      return false;
+    }
+    List<Book> titles = new ArrayList<>(capacity(titleCount));
+    books = new LinkedHashMap<>(capacity(titleCount));
+    for (int i = 0; i < titleCount; i++) {
+      String isbn = in.readString();
+      String title = in.readString();
+      int subject = in.readInt();
+      int author = in.readInt();
+      int pageCount = in.readInt();
+      long dueDate = in.readLong();
+      int copies = in.readInt();
+      if (!isIndex(subject, stringCount) || !isIndex(author, stringCount)
+          || copies < NOT_OWNED) {
+        return false;
+      }
+      Book book = new Book(isbn, title, strings[subject], pageCount, strings[author],
+          dueDate == NO_DATE ? null : LocalDate.ofEpochDay(dueDate));
+      titles.add(book);
+      if (copies != NOT_OWNED) {
+        books.put(book, copies);
+      }
+    }
+
+    int shelfCount = in.readInt();
+    if (shelfCount < 0) {
+      return false;
+    }
+    for (int i = 0; i < shelfCount; i++) {
+      Shelf shelf = newShelf.get();
+      shelf.setShelfNumber(in.readInt());
+      shelf.setSubject(in.readString());
+      int stockCount = in.readInt();
+      if (stockCount < 0) {
+        return false;
+      }
+      HashMap<Book, Integer> stock = new HashMap<>(capacity(stockCount) * 4 / 3 + 1);
+      for (int j = 0; j < stockCount; j++) {
+        int title = in.readInt();
+        int copies = in.readInt();
+        if (!isIndex(title, titleCount) || copies < 0) {
+          return false;
+        }
+        stock.put(titles.get(title), copies);
+      }
+      shelf.setBooks(stock);
+      shelves.add(shelf);
+    }
+
+    int readerCount = in.readInt();
+    if (readerCount < 0) {
+      return false;
+    }
+    for (int i = 0; i < readerCount; i++) {
+      int cardNumber = in.readInt();
+      String name = in.readString();
+      Reader reader = new Reader(cardNumber, name, in.readString());
+      int loanCount = in.readInt();
+      if (loanCount < 0) {
+        return false;
+      }
+      for (int j = 0; j < loanCount; j++) {
+        int title = in.readInt();
+        if (!isIndex(title, titleCount)) {
+          return false;
+        }
+        long dueDate = in.readLong();
+        reader.addBook(titles.get(title),
+            dueDate == NO_DATE ? null : LocalDate.ofEpochDay(dueDate));
+      }
+      readers.add(reader);
+    }
+    return true;
+  }
+
+  private static boolean isIndex(int index, int size) {
+    return index >= 0 && index < size;
+  }
+
+  /**
+   * Limits how much is allocated up front for a count read from the file,
+   * so a damaged count fails on the checksum instead of running out of memory.
+   *
+   * @param count number of items the file says follow
+   * @return initial capacity for a collection of that many items
+   */
+  private static int capacity(int count) {
+    return Math.min(count, BUFFER_SIZE);
+  }
+
+  /**
+   * Reads the body a block at a time, adding each block to the checksum as it arrives.
+   */
+  private static class BlockInput {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final CRC32 crc;
+
+    BlockInput(FileChannel channel) {
+      this.channel = channel;
+      this.buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+      this.crc = new CRC32();
+    }
+
+    int readInt() throws IOException {
+      require(Integer.BYTES);
+      return buffer.getInt();
+    }
+
+    long readLong() throws IOException {
+      require(Long.BYTES);
+      return buffer.getLong();
+    }
+
+    String readString() throws IOException {
+      int length = readInt();
+      if (length < 0) {
+        throw new EOFException("negative string length");
+      }
+      if (length <= buffer.capacity()) {
+        require(length);
+        String string = new String(buffer.array(), buffer.position(), length,
+            StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return string;
+      }
+      byte[] bytes = new byte[length]; // longer than a block
+      for (int done = 0; done < length; ) {
+        require(1);
+        int part = Math.min(buffer.remaining(), length - done);
+        buffer.get(bytes, done, part);
+        done += part;
+      }
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads whatever is left of the body and returns the checksum of all of it.
+     *
+     * @return CRC32 of the body
+     * @throws IOException if the file could not be read
+     */
+    long checksumRest() throws IOException {
+      buffer.position(buffer.limit());
+      while (fill()) {
+        buffer.position(buffer.limit());
+      }
+      return crc.getValue();
+    }
+
+    private void require(int bytes) throws IOException {
+      while (buffer.remaining() < bytes) {
+        if (!fill()) {
+          throw new EOFException();
+        }
+      }
+    }
+
+    /**
+     * Moves unread bytes to the front of the buffer and reads more after them.
+     *
+     * @return false if the end of the file was reached
+     * @throws IOException if the file could not be read
+     */
+    private boolean fill() throws IOException {
+      buffer.compact();
+      int start = buffer.position();
+      int read = channel.read(buffer);
+      if (read > 0) {
+        crc.update(buffer.array(), start, read);
+      }
+      buffer.flip();
+      return read >= 0;
+    }
+  }
+}
@@ -3,12 +3,26 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.nio.file.Files;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -98,6 +112,397 @@ class LibraryTest {
     assertEquals(reader, library.getReaderByCard(1));
   }
 
+  @Test
+  void initSharesBooksAndStrings() {
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    Book hitchhikers = library.getBookByISBN("42-w-87");
+    Book dune = library.getBookByISBN("34-w-34");
+    assertSame(hitchhikers, library.getReaderByCard(1).getBooks().get(0));
+    assertSame(hitchhikers.getSubject(), dune.getSubject());
+
+    Library parallel = new Library(name);
+    parallel.setEventSink(EventSink.NO_OP);
+    parallel.setListOnInit(false);
+    assertEquals(Code.SUCCESS, parallel.initParallel("Library00.csv"));
+    assertSame(parallel.getBookByISBN("42-w-87").getSubject(),
+        parallel.getBookByISBN("34-w-34").getSubject());
+  }
+
+  @Test
+  void initParallel() throws IOException {
+    Library sequential = new Library(name);
+    assertEquals(Code.SUCCESS, sequential.init("Library00.csv"));
+    assertEquals(Code.SUCCESS, library.initParallel("Library00.csv"));
+    assertSameLibrary(sequential, library, 3, 4);
+
+    // a catalog large enough to be parsed in several chunks
+    File file = File.createTempFile("initParallel", ".csv");
+    file.deleteOnExit();
+    InitBenchmark.writeCatalog(file, 40_000, 500);
+    sequential = new Library(name);
+    Library parallel = new Library(name);
+    assertEquals(Code.SUCCESS, sequential.init(file.getPath()));
+    assertEquals(Code.SUCCESS, parallel.initParallel(file.getPath(), new ForkJoinPool(4)));
+    assertSameLibrary(sequential, parallel, InitBenchmark.SUBJECTS, 500);
+  }
+
+  @Test
+  void initParallelBadDate() throws IOException {
+    File file = File.createTempFile("badDate", ".csv");
+    file.deleteOnExit();
+    Files.write(file.toPath(), List.of("2", "1,One,sci-fi,10,Author,2020-13-45",
+        "2,Two,sci-fi,10,Author,0000", "1", "1,sci-fi", "1", "1,Reader,555-555-5555,0"));
+    // the bad date is reported by the serial init, once and in file order
+    String[] output = new String[2];
+    Library[] libraries = {new Library(name), new Library(name)};
+    PrintStream out = System.out;
+    for (int i = 0; i < 2; i++) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      System.setOut(new PrintStream(bytes, true));
+      try {
+        libraries[i].setEventSink(EventSink.NO_OP);
+        libraries[i].setListOnInit(false);
+        assertEquals(Code.SUCCESS, i == 0 ? libraries[i].init(file.getPath())
+            : libraries[i].initParallel(file.getPath(), new ForkJoinPool(2)));
+      } finally {
+        System.setOut(out);
+      }
+      output[i] = bytes.toString();
+    }
+    assertTrue(output[0].contains("could not parse 2020-13-45"));
+    assertEquals(output[0], output[1]);
+    assertSameLibrary(libraries[0], libraries[1], 1, 1);
+  }
+
+  @Test
+  void saveSnapshot() throws IOException {
+    File file = File.createTempFile("snapshot", ".bin");
+    file.deleteOnExit();
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    assertEquals(Code.SUCCESS, library.saveSnapshot(file.getPath()));
+
+    Library restored = new Library(name);
+    restored.setEventSink(EventSink.NO_OP);
+    TitleIndex index = new TitleIndex();
+    restored.setTitleIndex(index);
+    assertEquals(Code.SUCCESS, restored.loadSnapshot(file.getPath()));
+    assertSameLibrary(library, restored, 3, 4);
+    assertSame(index, restored.getTitleIndex()); // refilled, not replaced
+    assertEquals(List.of(restored.getBookByISBN("42-w-87")), index.search("hitchhik", 10));
+    assertEquals(library.getBookByISBN("1337"), restored.getBookByISBN("1337"));
+    assertEquals(library.getReaderByCard(4).getBooks().get(1).getDueDate(),
+        restored.getReaderByCard(4).getBooks().get(1).getDueDate());
+
+    // the restored library keeps working: shelf numbers, loans and checkouts
+    assertEquals(Code.SUCCESS, restored.addShelf("poetry"));
+    assertEquals(4, restored.getShelf("poetry").getShelfNumber());
+    Reader borrower = restored.getReaderByCard(3);
+    Book loan = borrower.getBooks().get(0);
+    assertEquals(Code.SUCCESS, restored.returnBook(borrower, loan));
+    assertEquals(Code.SUCCESS, restored.checkOutBook(borrower, loan));
+  }
+
+  @Test
+  void loadSnapshotMovesCardNumbers() throws IOException {
+    File file = File.createTempFile("snapshot", ".bin");
+    file.deleteOnExit();
+    // written straight to the file, as by an earlier run, so no card number was handed out
+    Reader restoredReader = new Reader(900_000, "Restored Reader", "555-555-5555");
+    new LibrarySnapshot(0, 0, new LinkedHashMap<>(), List.of(), List.of(restoredReader))
+        .write(file.getPath());
+    library.setEventSink(EventSink.NO_OP);
+    assertEquals(Code.SUCCESS, library.loadSnapshot(file.getPath()));
+    int card = Library.getLibraryCardNumber();
+    assertTrue(card > 900_000);
+    assertEquals(Code.SUCCESS, library.addReader(new Reader(card, "New Reader", "555-555-0000")));
+    assertEquals("Restored Reader", library.getReaderByCard(900_000).getName());
+  }
+
+  @Test
+  void loadSnapshot() throws IOException {
+    File file = File.createTempFile("snapshot", ".bin");
+    file.deleteOnExit();
+    library.setEventSink(EventSink.NO_OP);
+    assertEquals(Code.FILE_NOT_FOUND_ERROR, library.loadSnapshot(file.getPath() + ".missing"));
+
+    Library saved = new Library(name);
+    saved.setEventSink(EventSink.NO_OP);
+    saved.setListOnInit(false);
+    saved.init("Library00.csv");
+    saved.saveSnapshot(file.getPath());
+    byte[] bytes = Files.readAllBytes(file.toPath());
+
+    library.addShelf(shelf);
+    library.addBook(book);
+    bytes[bytes.length / 2] ^= 1;
+    Files.write(file.toPath(), bytes);
+    assertEquals(Code.SNAPSHOT_CHECKSUM_ERROR, library.loadSnapshot(file.getPath()));
+    bytes[bytes.length / 2] ^= 1;
+    Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 9));
+    assertEquals(Code.SNAPSHOT_FORMAT_ERROR, library.loadSnapshot(file.getPath()));
+    bytes[5]++; // version
+    Files.write(file.toPath(), bytes);
+    assertEquals(Code.SNAPSHOT_VERSION_ERROR, library.loadSnapshot(file.getPath()));
+    Files.write(file.toPath(), "9\n".getBytes());
+    assertEquals(Code.SNAPSHOT_FORMAT_ERROR, library.loadSnapshot(file.getPath()));
+
+    // a failed load leaves the library as it was
+    assertEquals(1, library.listBooks());
+    assertEquals(shelf, library.getShelf(1));
+  }
+
+  @Test
+  void exportCsv() throws IOException {
+    File exported = File.createTempFile("export", ".csv");
+    exported.deleteOnExit();
+    File reexported = File.createTempFile("reexport", ".csv");
+    reexported.deleteOnExit();
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    Book poem = new Book("7", "Leaves of Grass", "poetry", 145, "Walt Whitman",
+        LocalDate.of(2026, 10, 18));
+    Reader newReader = new Reader(5, "Reader Five", "555-555-5555");
+    library.addShelf("poetry");
+    library.addBook(poem);
+    library.addBook(poem);
+    library.addReader(newReader);
+    library.checkOutBook(newReader, poem);
+    Reader borrower = library.getReaderByCard(3);
+    library.returnBook(borrower, borrower.getBooks().get(0));
+    assertEquals(Code.SUCCESS, library.exportCsv(exported.getPath()));
+
+    Library imported = new Library(name);
+    imported.setEventSink(EventSink.NO_OP);
+    imported.setListOnInit(false);
+    assertEquals(Code.SUCCESS, imported.init(exported.getPath()));
+    assertSameLibrary(library, imported, 4, 5);
+    assertEquals(LocalDate.of(2026, 10, 18),
+        imported.getReaderByCard(5).getBooks().get(0).getDueDate());
+    assertEquals(Code.SUCCESS, imported.exportCsv(reexported.getPath()));
+    assertEquals(Files.readAllLines(exported.toPath()), Files.readAllLines(reexported.toPath()));
+
+    // CSV has no quoting, so a comma in a field fails the export and keeps the old file
+    library.addBook(new Book("8", "Title, With Comma", "poetry", 1, "Author", null));
+    assertEquals(Code.EXPORT_ERROR, library.exportCsv(exported.getPath()));
+    assertEquals(Files.readAllLines(reexported.toPath()), Files.readAllLines(exported.toPath()));
+  }
+
+  @Test
+  void exportCsvAfterShelfReplaced() throws IOException {
+    File exported = File.createTempFile("export", ".csv");
+    exported.deleteOnExit();
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    library.addShelf("poetry");
+    Shelf adventure = new Shelf();
+    adventure.setSubject("Adventure");
+    assertEquals(Code.SUCCESS, library.addShelf(adventure)); // replaces shelf 3
+    assertNull(library.getShelf(3));
+    assertEquals(5, adventure.getShelfNumber());
+    assertEquals(Code.SUCCESS, library.exportCsv(exported.getPath()));
+
+    Library imported = new Library(name);
+    imported.setEventSink(EventSink.NO_OP);
+    imported.setListOnInit(false);
+    assertEquals(Code.SUCCESS, imported.init(exported.getPath()));
+    // same shelves in number order, numbered without the gap
+    int number = 1;
+    for (String subject : List.of("sci-fi", "education", "poetry", "Adventure")) {
+      Shelf shelf = imported.getShelf(number++);
+      assertEquals(subject, shelf.getSubject());
+      assertEquals(library.getShelf(subject).getBooks(), shelf.getBooks());
+    }
+    assertNull(imported.getShelf(5));
+    Reader borrower = imported.getReaderByCard(3);
+    assertEquals(library.getReaderByCard(3).getBooks(), borrower.getBooks());
+    assertEquals(Code.SUCCESS, imported.returnBook(borrower, borrower.getBooks().get(0)));
+  }
+
+  @Test
+  void recover() throws IOException {
+    File snapshot = File.createTempFile("snapshot", ".bin");
+    snapshot.deleteOnExit();
+    File journalFile = File.createTempFile("journal", ".log");
+    journalFile.deleteOnExit();
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    assertEquals(Code.SUCCESS, library.saveSnapshot(snapshot.getPath()));
+
+    Journal journal = new Journal(journalFile.getPath());
+    library.setJournal(journal);
+    Book poem = new Book("7", "Leaves of Grass", "poetry", 145, "Walt Whitman", null);
+    Book dune = library.getBookByISBN("34-w-34");
+    Reader newReader = new Reader(5, "Reader Five", "555-555-5555");
+    Reader leaving = new Reader(6, "Reader Six", "555-555-6666");
+    assertEquals(Code.SUCCESS, library.addShelf("poetry"));
+    assertEquals(Code.SUCCESS, library.addBook(poem));
+    assertEquals(Code.SUCCESS, library.addReader(newReader));
+    assertEquals(Code.SUCCESS, library.checkOutBook(newReader, dune));
+    assertEquals(Code.SUCCESS, library.checkOutBook(newReader, poem));
+    Reader borrower = library.getReaderByCard(3);
+    assertEquals(Code.SUCCESS, library.returnBook(borrower, borrower.getBooks().get(0)));
+    assertEquals(Code.SUCCESS, library.returnBook(book1));
+    assertEquals(Code.SUCCESS, library.addReader(leaving));
+    assertEquals(Code.SUCCESS, library.removeReader(leaving));
+    journal.close();
+    assertEquals(9, library.getJournalSequence());
+
+    Library recovered = new Library(name);
+    recovered.setEventSink(EventSink.NO_OP);
+    assertEquals(Code.SUCCESS, recovered.recover(snapshot.getPath(), journalFile.getPath()));
+    assertSameLibrary(library, recovered, 4, 5);
+    assertEquals(9, recovered.getJournalSequence());
+
+    // a record cut short by a crash is ignored
+    byte[] bytes = Files.readAllBytes(journalFile.toPath());
+    Files.write(journalFile.toPath(), Arrays.copyOf(bytes, bytes.length - 3));
+    recovered = new Library(name);
+    recovered.setEventSink(EventSink.NO_OP);
+    assertEquals(Code.SUCCESS, recovered.recover(snapshot.getPath(), journalFile.getPath()));
+    assertEquals(8, recovered.getJournalSequence());
+    assertNotNull(recovered.getReaderByCard(6));
+
+    // records already in a snapshot are not redone
+    library.setJournal(null);
+    assertEquals(Code.SUCCESS, library.saveSnapshot(snapshot.getPath()));
+    Files.write(journalFile.toPath(), bytes);
+    recovered = new Library(name);
+    recovered.setEventSink(EventSink.NO_OP);
+    assertEquals(Code.SUCCESS, recovered.recover(snapshot.getPath(), journalFile.getPath()));
+    assertSameLibrary(library, recovered, 4, 5);
+  }
+
+  private static void assertSameLibrary(Library expected, Library actual,
+                                        int shelfCount, int readerCount) {
+    assertEquals(expected.listBooks(), actual.listBooks());
+    for (int i = 1; i <= shelfCount; i++) {
+      assertEquals(expected.getShelf(i), actual.getShelf(i));
+      assertEquals(expected.getShelf(i).getBooks(), actual.getShelf(i).getBooks());
+    }
+    assertNull(actual.getShelf(shelfCount + 1));
+    for (int i = 1; i <= readerCount; i++) {
+      assertEquals(expected.getReaderByCard(i), actual.getReaderByCard(i));
+      assertEquals(expected.getReaderByCard(i).getBooks(), actual.getReaderByCard(i).getBooks());
+      for (Book loan : expected.getReaderByCard(i).getBooks()) {
+        assertEquals(expected.getReaderByCard(i).getDueDate(loan),
+            actual.getReaderByCard(i).getDueDate(loan));
+      }
+    }
+    assertEquals(dueDates(expected.getOverdueLoans(LocalDate.MAX)),
+        dueDates(actual.getOverdueLoans(LocalDate.MAX)));
+  }
+
+  private static List<LocalDate> dueDates(Collection<Loan> loans) {
+    List<LocalDate> dueDates = new ArrayList<>();
+    for (Loan loan : loans) {
+      dueDates.add(loan.getDueDate());
+    }
+    return dueDates;
+  }
+
+  @Test
+  void search() {
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertTrue(library.search("java", 10).isEmpty()); // no index kept
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    library.setTitleIndex(new TitleIndex());
+    assertEquals(List.of(library.getBookByISBN("42-w-87")), library.search("hitchhik", 10));
+    Book neuromancer = new Book("77", "Neuromancer", "sci-fi", 271, "William Gibson", null);
+    library.addBook(neuromancer);
+    assertEquals(List.of(neuromancer), library.search("gibson neuro", 10));
+    assertEquals(1, library.search("grady", 10).size());
+  }
+
+  @Test
+  void getTitlesBySubjectAndAuthor() {
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertTrue(library.getTitlesBySubject("sci-fi").isEmpty());
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    Book hitchhikers = library.getBookByISBN("42-w-87");
+    Book dune = library.getBookByISBN("34-w-34");
+    Map<Book, Integer> sciFi = library.getTitlesBySubject("sci-fi");
+    assertEquals(List.of(hitchhikers, dune), new ArrayList<>(sciFi.keySet()));
+    assertEquals(4, sciFi.get(hitchhikers));
+    assertEquals(1, sciFi.get(dune));
+
+    Book children = new Book("34-w-35", "Children of Dune", "sci-fi", 444, "Frank Herbert",
+        null);
+    library.addBook(children);
+    library.addBook(dune);
+    Map<Book, Integer> herbert = library.getTitlesByAuthor("Frank Herbert");
+    assertEquals(List.of(dune, children), new ArrayList<>(herbert.keySet()));
+    assertEquals(2, herbert.get(dune));
+    assertEquals(1, herbert.get(children));
+    assertEquals(3, library.getTitlesBySubject("sci-fi").size());
+    assertTrue(library.getTitlesByAuthor("Nobody").isEmpty());
+  }
+
+  @Test
+  void getOverdueLoans() {
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    Book hitchhikers = library.getBookByISBN("42-w-87");
+    Reader drew = library.getReaderByCard(1);
+    assertEquals(LocalDate.of(2020, 10, 12), drew.getDueDate(hitchhikers));
+    assertEquals(LocalDate.of(2020, 12, 12), library.getReaderByCard(3).getDueDate(hitchhikers));
+
+    Collection<Loan> overdue = library.getOverdueLoans(LocalDate.of(2020, 11, 1));
+    assertEquals(Arrays.asList(LocalDate.of(2019, 2, 18), LocalDate.of(2020, 5, 5),
+        LocalDate.of(2020, 10, 12)), dueDates(overdue));
+    for (Loan loan : overdue) {
+      assertSame(loan, loan.getReader().getLoan(loan.getBook()));
+      assertTrue(loan.isOverdue(LocalDate.of(2020, 11, 1)));
+    }
+
+    // returned loans leave the index and new ones join it
+    assertEquals(Code.SUCCESS, library.returnBook(drew, hitchhikers));
+    assertEquals(2, overdue.size());
+    assertEquals(Code.SUCCESS, library.checkOutBook(drew, hitchhikers, LocalDate.of(2020, 1, 1)));
+    assertEquals(Arrays.asList(LocalDate.of(2019, 2, 18), LocalDate.of(2020, 1, 1),
+        LocalDate.of(2020, 5, 5)), dueDates(overdue));
+    assertTrue(library.getOverdueLoans(LocalDate.of(2019, 2, 18)).isEmpty());
+  }
+
+  @Test
+  void setEventSink() {
+    List<LibraryEvent> events = new ArrayList<>();
+    library.setEventSink((event, subject, detail) -> events.add(event));
+    library.addShelf(shelf);
+    library.addBook(book);
+    library.addReader(reader);
+    library.checkOutBook(reader, book);
+    assertTrue(events.contains(LibraryEvent.TITLE_ADDED));
+    assertTrue(events.contains(LibraryEvent.SHELF_BOOK_ADDED)); // raised by the shelf
+    assertTrue(events.contains(LibraryEvent.CHECKED_OUT));
+
+    // shelves already in the library follow the library's sink
+    events.clear();
+    library.setEventSink(EventSink.NO_OP);
+    library.returnBook(reader, book);
+    assertTrue(events.isEmpty());
+    assertEquals(1, library.getShelf("sci-fi").getBookCount(book));
+  }
+
+  @Test
+  void setListOnInit() {
+    assertTrue(library.isListOnInit());
+    library.setListOnInit(false);
+    library.setEventSink(EventSink.NO_OP);
+    assertFalse(library.isListOnInit());
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    assertEquals(9, library.listBooks());
+  }
+
   @Test
   void addBook() {
     library.addShelf("sci-fi");
@@ -166,6 +571,74 @@ class LibraryTest {
     assertEquals(1, library.listBooks());
   }
 
+  @Test
+  void listBooksPaged() {
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    List<Map.Entry<Book, Integer>> all = new ArrayList<>();
+    library.listBooks(0).forEachRemaining(all::add);
+    assertEquals(4, all.size());
+
+    Cursor<Map.Entry<Book, Integer>> page = library.listBooks(0);
+    assertEquals(all.subList(0, 2), page.stream().limit(2).collect(Collectors.toList()));
+    Book neuromancer = new Book("77", "Neuromancer", "sci-fi", 271, "William Gibson", null);
+    library.addBook(neuromancer);
+    List<Map.Entry<Book, Integer>> rest = new ArrayList<>();
+    library.listBooks(page.token()).forEachRemaining(rest::add);
+    assertEquals(all.subList(2, 4), rest.subList(0, 2));
+    assertEquals(neuromancer, rest.get(2).getKey()); // new titles come last
+
+    StringBuilder out = new StringBuilder();
+    assertEquals(Code.SUCCESS, library.renderBooks(library.listBooks(page.token()), out));
+    assertTrue(out.toString().endsWith("1 copies of Neuromancer by William Gibson ISBN:77"
+        + System.lineSeparator()));
+  }
+
+  @Test
+  void listReadersAndShelvesPaged() {
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    Cursor<Reader> readers = library.listReaders(0);
+    assertEquals(1, readers.next().getCardNumber());
+    assertEquals(2, readers.next().getCardNumber());
+    Reader second = library.getReaderByCard(2);
+    for (Book book : new ArrayList<>(second.getBooks())) {
+      library.returnBook(second, book);
+    }
+    assertEquals(Code.SUCCESS, library.removeReader(second));
+    Cursor<Reader> rest = library.listReaders(readers.token()); // still after reader 2
+    assertEquals(3, rest.next().getCardNumber());
+    assertEquals(4, rest.next().getCardNumber());
+    assertFalse(rest.hasNext());
+
+    StringBuilder out = new StringBuilder();
+    assertEquals(Code.SUCCESS, library.renderShelves(library.listShelves(0), true, out));
+    assertEquals(library.getShelf(1).listBooks() + System.lineSeparator()
+        + library.getShelf(2).listBooks() + System.lineSeparator()
+        + library.getShelf(3).listBooks() + System.lineSeparator(), out.toString());
+    assertEquals(Code.SUCCESS, library.renderReaders(library.listReaders(2), true, out));
+    assertTrue(out.toString().contains("Monte Ray(#3) has the following books:"));
+    Appendable broken = new Appendable() {
+      @Override
+      public Appendable append(CharSequence csq) throws IOException {
+        throw new IOException("disk full");
+      }
+
+      @Override
+      public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        throw new IOException("disk full");
+      }
+
+      @Override
+      public Appendable append(char c) throws IOException {
+        throw new IOException("disk full");
+      }
+    };
+    assertEquals(Code.LIST_ERROR, library.renderShelves(library.listShelves(0), false, broken));
+  }
+
   @Test
   void checkOutBook() {
     assertEquals(Code.READER_NOT_IN_LIBRARY_ERROR, library.checkOutBook(reader, book));
@@ -206,6 +679,58 @@ class LibraryTest {
     assertEquals(1, library.getShelf("education").getBookCount(book1));
   }
 
+  @Test
+  void checkOutBooks() {
+    Book book2 = new Book("2", "Second", "sci-fi", 100, "Author", LocalDate.of(1970, 1, 1));
+    List<Book> batch = List.of(book, book1, book2);
+    assertEquals(List.of(Code.READER_NOT_IN_LIBRARY_ERROR, Code.READER_NOT_IN_LIBRARY_ERROR,
+        Code.READER_NOT_IN_LIBRARY_ERROR), library.checkOutBooks(reader, batch));
+
+    library.addReader(reader);
+    library.addShelf(shelf);
+    library.addBook(book);
+    library.addBook(book1);
+
+    // no education shelf and no copy of book2
+    assertEquals(List.of(Code.SUCCESS, Code.SHELF_EXISTS_ERROR, Code.BOOK_NOT_IN_INVENTORY_ERROR),
+        library.checkOutBooks(reader, batch));
+    assertTrue(reader.hasBook(book));
+    assertEquals(0, library.getShelf("sci-fi").getBookCount(book));
+    assertEquals(1, reader.getBookCount());
+
+    // all or nothing against the lending limit
+    reader.addBook(new Book("3", "3", "subject", 100, "3", LocalDate.now()));
+    reader.addBook(new Book("4", "4", "subject", 100, "4", LocalDate.now()));
+    library.addShelf("education");
+    library.addBook(book2);
+    library.addBook(book2);
+    assertEquals(List.of(Code.BOOK_LIMIT_REACHED_ERROR, Code.BOOK_LIMIT_REACHED_ERROR,
+        Code.BOOK_LIMIT_REACHED_ERROR), library.checkOutBooks(reader, List.of(book1, book2, book2)));
+    assertEquals(3, reader.getBookCount());
+    assertEquals(List.of(Code.SUCCESS, Code.BOOK_ALREADY_CHECKED_OUT_ERROR),
+        library.checkOutBooks(reader, List.of(book2, book2)));
+    assertEquals(1, library.getShelf("sci-fi").getBookCount(book2));
+  }
+
+  @Test
+  void returnBooks() {
+    library.addReader(reader);
+    library.addShelf(shelf);
+    library.addBook(book);
+    library.addBook(book1);
+    assertEquals(Code.SUCCESS, library.checkOutBook(reader, book));
+
+    // book1 is not the reader's and has no shelf to go back to
+    assertEquals(List.of(Code.SUCCESS, Code.READER_DOESNT_HAVE_BOOK_ERROR),
+        library.returnBooks(reader, List.of(book, book1)));
+    assertFalse(reader.hasBook(book));
+    assertEquals(1, library.getShelf("sci-fi").getBookCount(book));
+
+    reader.addBook(book1);
+    assertEquals(List.of(Code.SHELF_EXISTS_ERROR), library.returnBooks(reader, List.of(book1)));
+    assertTrue(reader.hasBook(book1));
+  }
+
   @Test
   void getBookByISBN() {
     assertNull(library.getBookByISBN("42-w-87"));
@@ -254,6 +779,25 @@ class LibraryTest {
     assertEquals(shelf, library.getShelf(1));
   }
 
+  @Test
+  void testAddShelfNumbersAndStock() {
+    library.addBook(book);
+    library.addBook(book);
+    library.addBook(book1);
+
+    // shelves are numbered in the order they are added
+    assertEquals(Code.SUCCESS, library.addShelf("education"));
+    assertEquals(Code.SUCCESS, library.addShelf("sci-fi"));
+    assertEquals("education", library.getShelf(1).getSubject());
+    assertEquals("sci-fi", library.getShelf(2).getSubject());
+    assertNull(library.getShelf(3));
+
+    // new shelves are stocked with only their subject's books
+    assertEquals(2, library.getShelf("sci-fi").getBookCount(book));
+    assertEquals(-1, library.getShelf("sci-fi").getBookCount(book1));
+    assertEquals(1, library.getShelf("education").getBookCount(book1));
+  }
+
   @Test
   void testGetShelfParamString() {
     assertNull(library.getShelf("sci-fi"));
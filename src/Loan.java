@@ -0,0 +1,91 @@
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Title: Loan.java
+ * Abstract: One copy of a title lent to a reader and the date it is due back. Copies of a
+ *           title are counted rather than told apart, so a loan doesn't say which copy it
+ *           is; instead every loan gets a serial number, unique in the running program and
+ *           growing in the order loans are made, which puts loans due on the same day in
+ *           that order. Loans never change: lending a copy again makes a new loan.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+public final class Loan implements Comparable<Loan> {
+
+  private static final AtomicLong NEXT_SERIAL = new AtomicLong(1);
+
+  private final Reader reader;
+  private final Book book;
+  private final long serial;
+  private final LocalDate dueDate;
+
+  public Loan(Reader reader, Book book, LocalDate dueDate) {
+    this(reader, book, NEXT_SERIAL.getAndIncrement(), dueDate);
+  }
+
+  private Loan(Reader reader, Book book, long serial, LocalDate dueDate) {
+    this.reader = reader;
+    this.book = book;
+    this.serial = serial;
+    this.dueDate = dueDate;
+  }
+
+  /**
+   * Makes a loan that sorts before every loan due on the given date, to search by date.
+   *
+   * @param dueDate date being searched for
+   * @return a loan of nothing to nobody due on the date
+   */
+  static Loan firstDueOn(LocalDate dueDate) {
+    return new Loan(null, null, Long.MIN_VALUE, dueDate);
+  }
+
+  public Reader getReader() {
+    return reader;
+  }
+
+  public Book getBook() {
+    return book;
+  }
+
+  public long getSerial() {
+    return serial;
+  }
+
+  public LocalDate getDueDate() {
+    return dueDate;
+  }
+
+  /**
+   * Checks if the loan is overdue.
+   *
+   * @param today date to check against
+   * @return true if the loan was due back before the given date
+   */
+  public boolean isOverdue(LocalDate today) {
+    return dueDate != null && dueDate.isBefore(today);
+  }
+
+  /**
+   * Orders loans by due date, loans without one last, then by serial number.
+   */
+  @Override
+  public int compareTo(Loan other) {
+    if (dueDate != other.dueDate) {
+      if (dueDate == null) return 1;
+      if (other.dueDate == null) return -1;
+      int byDate = dueDate.compareTo(other.dueDate);
+      if (byDate != 0) return byDate;
+    }
+    return Long.compare(serial, other.serial);
+  }
+
+  @Override
+  public String toString() {
+    return book + " lent to " + reader.getName() + " (#" + reader.getCardNumber()
+        + ") due " + dueDate;
+  }
+}
@@ -0,0 +1,82 @@
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Title: LoanIndex.java
+ * Abstract: Every loan of a library with a due date, in the order they fall due, so the
+ *           loans overdue on a day are found by one search for the day and then read in
+ *           order, instead of by going through every reader's books. A library shared by
+ *           several threads keeps its loans in a skip list, so the index can be read while
+ *           loans are being made and returned.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/util/NavigableSet.html
+ *             https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/ConcurrentSkipListSet.html
+ */
+
+public class LoanIndex {
+
+  private final NavigableSet<Loan> loans;
+
+  public LoanIndex() {
+    this(false);
+  }
+
+  /**
+   * Constructs an empty index.
+   *
+   * @param concurrent will the index be used from several threads?
+   */
+  public LoanIndex(boolean concurrent) {
+    this.loans = concurrent ? new ConcurrentSkipListSet<>() : new TreeSet<>();
+  }
+
+  /**
+   * Adds a loan to the index. Loans without a due date are never overdue and are left out.
+   *
+   * @param loan loan to be added
+   */
+  public void add(Loan loan) {
+    if (loan.getDueDate() != null) {
+      loans.add(loan);
+    }
+  }
+
+  public void remove(Loan loan) {
+    if (loan.getDueDate() != null) {
+      loans.remove(loan);
+    }
+  }
+
+  public void clear() {
+    loans.clear();
+  }
+
+  public int size() {
+    return loans.size();
+  }
+
+  /**
+   * Returns the loans overdue on a day, those due back before it, the longest overdue first.
+   * The collection is a view that follows later changes to the index.
+   *
+   * @param today day to check against
+   * @return loans overdue on the day
+   */
+  public Collection<Loan> getOverdue(LocalDate today) {
+    return Collections.unmodifiableSet(loans.headSet(Loan.firstDueOn(today), false));
+  }
+
+  /**
+   * Returns every loan with a due date, soonest due first. The collection is a view.
+   *
+   * @return loans in order of due date
+   */
+  public Collection<Loan> getLoans() {
+    return Collections.unmodifiableSet(loans);
+  }
+}
@@ -0,0 +1,184 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * Title: LoanSet.java
+ * Abstract: The books a reader has checked out, at most one copy of each title, with the
+ *           loan of each. Loans sit in a small array in the order they were made, next to
+ *           the cached hash of each title's key, so checking for a title compares ints and
+ *           only calls equals on a hash match. A reader with no loans shares empty arrays
+ *           and a reader under the lending limit needs a handful of slots, so nothing is
+ *           allocated to look up or remove a loan once the arrays are big enough. Readers holding many
+ *           more loans than the lending limit also get a hash index over the arrays.
+ *           Read as a List, the set cannot be changed.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/util/AbstractList.html
+ *             https://en.wikipedia.org/wiki/Open_addressing
+ */
+
+public class LoanSet extends AbstractList<Book> {
+
+  private static final Loan[] NO_LOANS = {};
+  private static final int[] NO_HASHES = {};
+  private static final int INDEX_THRESHOLD = 16; // scanning fewer loans beats hashing
+
+  private Loan[] loans;
+  private int[] hashes;
+  private int size;
+  private int[] index; // position + 1 of each loan by hash, null until there are many loans
+
+  public LoanSet() {
+    this.loans = NO_LOANS;
+    this.hashes = NO_HASHES;
+  }
+
+  @Override
+  public Book get(int i) {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+    }
+    return loans[i].getBook();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Book && indexOf((Book) o) >= 0;
+  }
+
+  /**
+   * Finds the loan of a title.
+   *
+   * @param book title being looked for
+   * @return position of the loan or -1 if the title is not on loan
+   */
+  public int indexOf(Book book) {
+    CatalogKey key = book.getKey();
+    int hash = key.hashCode();
+    if (index != null) {
+      int mask = index.length - 1;
+      for (int slot = spread(hash) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+        int i = index[slot] - 1;
+        if (hashes[i] == hash && loans[i].getBook().getKey().equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    for (int i = 0; i < size; i++) {
+      if (hashes[i] == hash && loans[i].getBook().getKey().equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Adds a loan unless its title is already on loan.
+   *
+   * @param loan loan being made
+   * @return true if the loan was added
+   */
+  public boolean add(Loan loan) {
+    if (indexOf(loan.getBook()) >= 0) {
+      return false;
+    }
+    if (size == loans.length) {
+      int capacity = Math.max(2, size * 2);
+      loans = Arrays.copyOf(loans, capacity);
+      hashes = Arrays.copyOf(hashes, capacity);
+    }
+    loans[size] = loan;
+    hashes[size] = loan.getBook().getKey().hashCode();
+    size++;
+    modCount++;
+    if (index != null && size * 2 <= index.length) {
+      insert(size - 1, index.length - 1);
+    } else if (size > INDEX_THRESHOLD) {
+      reindex();
+    }
+    return true;
+  }
+
+  /**
+   * Removes the loan of a title, keeping the other loans in order.
+   *
+   * @param book title being returned
+   * @return the loan removed or null if the title was not on loan
+   */
+  public Loan removeLoan(Book book) {
+    int i = indexOf(book);
+    if (i < 0) {
+      return null;
+    }
+    Loan loan = loans[i];
+    int moved = size - i - 1;
+    System.arraycopy(loans, i + 1, loans, i, moved);
+    System.arraycopy(hashes, i + 1, hashes, i, moved);
+    size--;
+    loans[size] = null;
+    modCount++;
+    if (index != null) {
+      reindex();
+    }
+    return loan;
+  }
+
+  /**
+   * Returns the loan of a title.
+   *
+   * @param book title on loan
+   * @return the loan or null if the title is not on loan
+   */
+  public Loan getLoan(Book book) {
+    int i = indexOf(book);
+    return i < 0 ? null : loans[i];
+  }
+
+  /**
+   * Returns a loan by position.
+   *
+   * @param i position of the loan
+   * @return the loan
+   */
+  public Loan getLoan(int i) {
+    get(i); // bounds check
+    return loans[i];
+  }
+
+  /**
+   * Rebuilds the hash index over the loans, or drops it once there are few loans left.
+   */
+  private void reindex() {
+    if (size <= INDEX_THRESHOLD / 2) {
+      index = null;
+      return;
+    }
+    int capacity = Integer.highestOneBit(size * 4 - 1); // at most half full
+    if (index == null || index.length != capacity) {
+      index = new int[capacity];
+    } else {
+      Arrays.fill(index, 0);
+    }
+    for (int i = 0; i < size; i++) {
+      insert(i, capacity - 1);
+    }
+  }
+
+  private void insert(int i, int mask) {
+    int slot = spread(hashes[i]) & mask;
+    while (index[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    index[slot] = i + 1;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+}
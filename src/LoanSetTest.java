@@ -0,0 +1,102 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: LoanSetTest.java
+ * Abstract: Tests the LoanSet class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class LoanSetTest {
+
+  LoanSet loans;
+  Reader reader;
+  List<Book> titles;
+
+  @BeforeEach
+  void setUp() {
+    loans = new LoanSet();
+    reader = new Reader(1, "Name", "000 000 0000");
+    titles = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      titles.add(new Book(String.valueOf(i), "Title " + i, "subject", 100 + i, "Author", null));
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    loans = null;
+    reader = null;
+    titles = null;
+  }
+
+  @Test
+  void add() {
+    Loan loan = new Loan(reader, titles.get(0), LocalDate.of(2020, 1, 1));
+    assertTrue(loans.add(loan));
+    assertFalse(loans.add(new Loan(reader, titles.get(0), LocalDate.of(2020, 2, 2))));
+    assertEquals(1, loans.size());
+    assertSame(loan, loans.getLoan(titles.get(0)));
+  }
+
+  @Test
+  void equalTitleIsSameLoan() {
+    Book book = titles.get(3);
+    loans.add(new Loan(reader, book, null));
+    Book copy = new Book(book.getIsbn(), book.getTitle(), book.getSubject(),
+        book.getPageCount(), book.getAuthor(), LocalDate.of(1, 1, 1));
+    assertTrue(loans.contains(copy));
+    assertNotNull(loans.removeLoan(copy));
+    assertTrue(loans.isEmpty());
+  }
+
+  @Test
+  void removeLoanKeepsOrder() {
+    for (int i = 0; i < 4; i++) {
+      loans.add(new Loan(reader, titles.get(i), LocalDate.of(2020, 1, i + 1)));
+    }
+    assertEquals(LocalDate.of(2020, 1, 2), loans.removeLoan(titles.get(1)).getDueDate());
+    assertNull(loans.removeLoan(titles.get(1)));
+    assertEquals(List.of(titles.get(0), titles.get(2), titles.get(3)), loans);
+    assertEquals(LocalDate.of(2020, 1, 3), loans.getLoan(1).getDueDate());
+    assertNull(loans.getLoan(titles.get(1)));
+  }
+
+  @Test
+  void manyLoans() {
+    for (int i = 0; i < titles.size(); i++) {
+      assertTrue(loans.add(new Loan(reader, titles.get(i), LocalDate.ofEpochDay(i))));
+    }
+    for (int i = 0; i < titles.size(); i += 2) {
+      assertNotNull(loans.removeLoan(titles.get(i)));
+    }
+    for (int i = 0; i < titles.size(); i++) {
+      assertEquals(i % 2 == 1, loans.contains(titles.get(i)));
+      assertEquals(i % 2 == 1, loans.getLoan(titles.get(i)) != null);
+    }
+    assertEquals(titles.size() / 2, loans.size());
+    assertEquals(titles.get(1), loans.get(0));
+  }
+
+  @Test
+  void readOnly() {
+    loans.add(new Loan(reader, titles.get(0), null));
+    assertThrows(UnsupportedOperationException.class, () -> loans.add(titles.get(1)));
+    assertThrows(UnsupportedOperationException.class, () -> loans.remove(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> loans.get(1));
+  }
+}
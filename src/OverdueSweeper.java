@@ -0,0 +1,293 @@
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Title: OverdueSweeper.java
+ * Abstract: Raises a LOAN_OVERDUE event for each loan on the day it becomes overdue, from
+ *           a single background thread. Loans wait in a hierarchical timing wheel keyed by
+ *           the day they fall overdue: four wheels of 64 slots, each slot of a wheel as
+ *           long as the whole wheel below it, so one wheel covers the next 64 days, the
+ *           next about 11 years and so on. A loan sits in the slot of the coarsest wheel it
+ *           needs and moves down a wheel each time its slot comes round, so the work per
+ *           day is one slot of each wheel at most, however many loans are open.
+ *           Scheduling and cancelling a loan only queue it for the wheel's thread, which
+ *           places or unlinks it in constant time; the thread wakes at midnight to move
+ *           the wheel on, and as soon as a loan that is already overdue is scheduled.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Varghese, G. and Lauck, T. Hashed and Hierarchical Timing Wheels (1987)
+ *             https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/ScheduledThreadPoolExecutor.html
+ */
+
+public class OverdueSweeper implements Closeable {
+
+  public static final int WHEEL_BITS = 6;
+  public static final int WHEEL_SIZE = 1 << WHEEL_BITS; // slots per wheel
+  public static final int LEVELS = 4;
+  public static final int DRAIN_BATCH = 4096; // changes queued before the thread takes them
+
+  private static final int MASK = WHEEL_SIZE - 1;
+
+  private final EventSink events;
+  private final Clock clock;
+  private final ScheduledExecutorService scheduler;
+  private final Map<Loan, Timer> timers;        // loans waiting, to find their timer to cancel
+  private final Queue<Timer> added;             // scheduled but not placed in the wheel yet
+  private final Queue<Timer> cancelled;         // cancelled but maybe still in the wheel
+  private final AtomicInteger queued;
+  private final AtomicBoolean drainRequested;
+  private volatile long today;                  // day the wheel has reached; only the thread moves it
+
+  // only touched by the scheduler thread
+  private final Timer[][] wheels;
+
+  public OverdueSweeper(EventSink events) {
+    this(events, Clock.systemDefaultZone());
+  }
+
+  /**
+   * Starts a sweeper whose days follow the given clock.
+   *
+   * @param events sink to receive LOAN_OVERDUE events
+   * @param clock clock telling the current day and when midnight is
+   */
+  public OverdueSweeper(EventSink events, Clock clock) {
+    this.events = events;
+    this.clock = clock;
+    this.timers = new ConcurrentHashMap<>();
+    this.added = new ConcurrentLinkedQueue<>();
+    this.cancelled = new ConcurrentLinkedQueue<>();
+    this.queued = new AtomicInteger();
+    this.drainRequested = new AtomicBoolean();
+    this.wheels = new Timer[LEVELS][WHEEL_SIZE];
+    this.today = LocalDate.now(clock).toEpochDay();
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, task -> {
+      Thread thread = new Thread(task, "library-overdue");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    this.scheduler = executor;
+    scheduleMidnight();
+  }
+
+  /**
+   * Watches a loan so an event is raised when it becomes overdue. Loans without
+   * a due date never become overdue and are ignored. Safe to call from any thread.
+   *
+   * @param loan loan to be watched
+   */
+  public void schedule(Loan loan) {
+    if (loan.getDueDate() == null) {
+      return;
+    }
+    Timer timer = new Timer(loan, loan.getDueDate().toEpochDay() + 1); // overdue the day after
+    timers.put(loan, timer);
+    added.add(timer);
+    if (timer.expiry <= today || queued.incrementAndGet() >= DRAIN_BATCH) {
+      requestDrain();
+    }
+  }
+
+  /**
+   * Stops watching a loan, such as when its book is returned. Safe to call from any thread.
+   *
+   * @param loan loan that no longer needs an event
+   */
+  public void cancel(Loan loan) {
+    Timer timer = timers.remove(loan);
+    if (timer != null) {
+      timer.cancelled = true;
+      cancelled.add(timer);
+      if (queued.incrementAndGet() >= DRAIN_BATCH) {
+        requestDrain();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of loans being watched.
+   *
+   * @return loans scheduled, not yet overdue and not cancelled
+   */
+  public int size() {
+    return timers.size();
+  }
+
+  /**
+   * Brings the wheel up to the clock's current day now rather than at midnight,
+   * raising the events of every loan that has become overdue since.
+   *
+   * @return a Future that completes once the wheel has caught up
+   */
+  public Future<?> sweep() {
+    return scheduler.submit(this::advance);
+  }
+
+  /**
+   * Stops the sweeper's thread. Loans still being watched raise no events.
+   */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    try {
+      scheduler.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void requestDrain() {
+    if (drainRequested.compareAndSet(false, true)) {
+      try {
+        scheduler.execute(this::advance);
+      } catch (RejectedExecutionException e) {
+        // closed: nothing more will be raised
+      }
+    }
+  }
+
+  private void scheduleMidnight() {
+    ZonedDateTime now = ZonedDateTime.now(clock);
+    ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+    long delay = Math.max(1, Duration.between(now, midnight).toMillis());
+    scheduler.schedule(() -> {
+      advance();
+      scheduleMidnight();
+    }, delay, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Places and unlinks the timers queued so far, then moves the wheel a day at a time
+   * up to the clock's current day. Runs on the scheduler thread only.
+   */
+  private void advance() {
+    drainRequested.set(false);
+    queued.set(0);
+    for (Timer timer; (timer = added.poll()) != null; ) {
+      if (!timer.cancelled) {
+        place(timer);
+      }
+    }
+    for (Timer timer; (timer = cancelled.poll()) != null; ) {
+      unlink(timer);
+    }
+    long target = LocalDate.now(clock).toEpochDay();
+    while (today < target) {
+      long day = today + 1;
+      today = day;
+      for (int level = LEVELS - 1; level > 0; level--) {
+        if ((day & ((1L << (WHEEL_BITS * level)) - 1)) == 0) { // the wheel below came round
+          cascade(level, (int) (day >>> (WHEEL_BITS * level)) & MASK);
+        }
+      }
+      Timer timer = wheels[0][(int) day & MASK];
+      while (timer != null) {
+        Timer next = timer.next;
+        unlink(timer);
+        fire(timer);
+        timer = next;
+      }
+    }
+  }
+
+  /**
+   * Puts a timer in the slot of the coarsest wheel its wait needs, or raises its event
+   * if it is already due.
+   */
+  private void place(Timer timer) {
+    long wait = timer.expiry - today;
+    if (wait <= 0) {
+      fire(timer);
+      return;
+    }
+    int level = 0;
+    while (level < LEVELS - 1 && wait >= 1L << (WHEEL_BITS * (level + 1))) {
+      level++;
+    }
+    long tick = timer.expiry >>> (WHEEL_BITS * level);
+    if (wait >= 1L << (WHEEL_BITS * LEVELS)) {
+      tick = (today >>> (WHEEL_BITS * level)) + MASK; // too far off: look again in the last slot
+    }
+    int slot = (int) tick & MASK;
+    timer.level = level;
+    timer.slot = slot;
+    timer.prev = null;
+    timer.next = wheels[level][slot];
+    if (timer.next != null) {
+      timer.next.prev = timer;
+    }
+    wheels[level][slot] = timer;
+    timer.linked = true;
+  }
+
+  /**
+   * Empties a slot of an upper wheel into the wheels below it.
+   */
+  private void cascade(int level, int slot) {
+    Timer timer = wheels[level][slot];
+    wheels[level][slot] = null;
+    while (timer != null) {
+      Timer next = timer.next;
+      timer.linked = false;
+      place(timer);
+      timer = next;
+    }
+  }
+
+  private void unlink(Timer timer) {
+    if (!timer.linked) {
+      return;
+    }
+    if (timer.prev != null) {
+      timer.prev.next = timer.next;
+    } else {
+      wheels[timer.level][timer.slot] = timer.next;
+    }
+    if (timer.next != null) {
+      timer.next.prev = timer.prev;
+    }
+    timer.prev = null;
+    timer.next = null;
+    timer.linked = false;
+  }
+
+  private void fire(Timer timer) {
+    if (!timer.cancelled && timers.remove(timer.loan, timer) && events.isEnabled()) {
+      events.accept(LibraryEvent.LOAN_OVERDUE, timer.loan, LocalDate.ofEpochDay(today));
+    }
+  }
+
+  /**
+   * A loan waiting in the wheel, linked to the others in its slot.
+   */
+  private static class Timer {
+    private final Loan loan;
+    private final long expiry;          // day the loan becomes overdue
+    private volatile boolean cancelled;
+    private boolean linked;             // in a slot; only touched by the scheduler thread
+    private int level;
+    private int slot;
+    private Timer prev;
+    private Timer next;
+
+    Timer(Loan loan, long expiry) {
+      this.loan = loan;
+      this.expiry = expiry;
+    }
+  }
+}
@@ -0,0 +1,166 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: OverdueSweeperTest.java
+ * Abstract: Tests the OverdueSweeper class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class OverdueSweeperTest {
+
+  DayClock clock;
+  List<Loan> overdue;
+  OverdueSweeper sweeper;
+  Reader reader;
+
+  @BeforeEach
+  void setUp() {
+    clock = new DayClock(LocalDate.of(2020, 1, 1));
+    overdue = Collections.synchronizedList(new ArrayList<>());
+    sweeper = new OverdueSweeper((event, subject, detail) -> {
+      assertEquals(LibraryEvent.LOAN_OVERDUE, event);
+      overdue.add((Loan) subject);
+    }, clock);
+    reader = new Reader(1, "Name", "000 000 0000");
+  }
+
+  @AfterEach
+  void tearDown() {
+    sweeper.close();
+    sweeper = null;
+    overdue = null;
+    clock = null;
+    reader = null;
+  }
+
+  @Test
+  void schedule() throws InterruptedException, ExecutionException {
+    Loan late = loan(0, LocalDate.of(2019, 12, 1));
+    Loan soon = loan(1, LocalDate.of(2020, 1, 5));
+    Loan returned = loan(2, LocalDate.of(2020, 1, 3));
+    Loan months = loan(3, LocalDate.of(2020, 3, 1));
+    Loan years = loan(4, LocalDate.of(2031, 6, 1));
+    for (Loan loan : List.of(late, soon, returned, months, years)) {
+      sweeper.schedule(loan);
+    }
+    sweeper.schedule(loan(5, null)); // never overdue
+    sweeper.cancel(returned);
+    sweeper.sweep().get();
+    assertEquals(List.of(late), overdue);
+    assertEquals(3, sweeper.size());
+
+    clock.setDay(LocalDate.of(2020, 1, 5)); // due today is not overdue yet
+    sweeper.sweep().get();
+    assertEquals(List.of(late), overdue);
+
+    clock.setDay(LocalDate.of(2020, 1, 6));
+    sweeper.sweep().get();
+    assertEquals(List.of(late, soon), overdue);
+
+    clock.setDay(LocalDate.of(2040, 1, 1));
+    sweeper.sweep().get();
+    assertEquals(List.of(late, soon, months, years), overdue);
+    assertEquals(0, sweeper.size());
+  }
+
+  @Test
+  void everyDay() throws InterruptedException, ExecutionException {
+    // loans due on every day for several years come due on the right day, whatever their wheel
+    List<Loan> loans = new ArrayList<>();
+    for (int day = 0; day < 5000; day += 7) {
+      Loan loan = loan(day, LocalDate.of(2020, 1, 1).plusDays(day));
+      loans.add(loan);
+      sweeper.schedule(loan);
+    }
+    for (int day = 1; day <= 5001; day += 50) {
+      clock.setDay(LocalDate.of(2020, 1, 1).plusDays(day));
+      sweeper.sweep().get();
+      for (Loan loan : overdue) {
+        assertTrue(loan.isOverdue(LocalDate.of(2020, 1, 1).plusDays(day)));
+      }
+      for (Loan loan : loans) {
+        assertEquals(loan.isOverdue(clock.today()), overdue.contains(loan));
+      }
+    }
+    assertEquals(loans, overdue);
+  }
+
+  @Test
+  void library() throws InterruptedException, ExecutionException {
+    Library library = new Library("Library");
+    library.setEventSink(EventSink.NO_OP);
+    library.setListOnInit(false);
+    assertEquals(Code.SUCCESS, library.init("Library00.csv"));
+    clock.setDay(LocalDate.of(2020, 11, 1));
+    library.setOverdueSweeper(sweeper);
+    sweeper.sweep().get();
+    assertEquals(3, overdue.size());
+
+    Reader monte = library.getReaderByCard(3);
+    Book hitchhikers = library.getBookByISBN("42-w-87");
+    assertEquals(Code.SUCCESS, library.returnBook(monte, hitchhikers));
+    clock.setDay(LocalDate.of(2020, 12, 31));
+    sweeper.sweep().get();
+    assertEquals(4, overdue.size()); // not Monte's, returned before it was due
+    assertEquals(Code.SUCCESS,
+        library.checkOutBook(monte, hitchhikers, LocalDate.of(2020, 12, 1)));
+    sweeper.sweep().get();
+    assertEquals(5, overdue.size());
+    assertEquals(monte.getLoan(hitchhikers), overdue.get(4));
+  }
+
+  private Loan loan(int i, LocalDate dueDate) {
+    Book book = new Book(String.valueOf(i), "Title " + i, "subject", 100, "Author", null);
+    return new Loan(reader, book, dueDate);
+  }
+
+  /**
+   * Clock that stays at the start of a day until it is moved on.
+   */
+  private static class DayClock extends Clock {
+    private volatile Instant now;
+
+    DayClock(LocalDate day) {
+      setDay(day);
+    }
+
+    void setDay(LocalDate day) {
+      now = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    LocalDate today() {
+      return LocalDate.ofInstant(now, ZoneOffset.UTC);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
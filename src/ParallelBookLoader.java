@@ -0,0 +1,343 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Title: ParallelBookLoader.java
+ * Abstract: Parses the book section of a library CSV file in parallel.
+ *           The file is memory mapped, the end of the book section is found by counting
+ *           line breaks chunk by chunk, and the section is then cut into line aligned chunks
+ *           that are parsed on a fork/join pool. Each chunk keeps the copy count of every
+ *           title in the order the titles first appear, so merging the chunks in file order
+ *           gives the same books as parsing the section one line at a time.
+ *           Subjects and authors are pooled within a chunk, and neighbouring lines
+ *           holding copies of the same title share one Book.
+ *           Errors are not reported from here: if any line of the section is not a valid
+ *           book, a due date can't be read, or the counts don't add up, load returns false
+ *           and the whole file goes back through the serial init, which reports the error
+ *           exactly as it always has. A single malformed row therefore costs a second,
+ *           serial read of the file.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/nio/MappedByteBuffer.html
+ *             https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/ForkJoinPool.html
+ */
+
+public class ParallelBookLoader {
+
+  public static final int MIN_CHUNK_SIZE = 1 << 20;
+  public static final int MAX_CHUNK_SIZE = 1 << 26;
+
+  private final FileChannel channel;
+  private final ForkJoinPool pool;
+  private final long size;
+  private final long chunkSize;
+
+  private int bookCount;
+  private long sectionEnd;
+  private List<LinkedHashMap<Book, Integer>> chunks;
+
+  public ParallelBookLoader(FileChannel channel, ForkJoinPool pool) throws IOException {
+    this(channel, pool, chunkSize(channel.size(), pool.getParallelism()));
+  }
+
+  ParallelBookLoader(FileChannel channel, ForkJoinPool pool, long chunkSize) throws IOException {
+    this.channel = channel;
+    this.pool = pool;
+    this.size = channel.size();
+    this.chunkSize = chunkSize;
+  }
+
+  public int getBookCount() {
+    return bookCount;
+  }
+
+  /**
+   * Returns the offset of the first byte after the book section.
+   *
+   * @return offset of the shelf count line
+   */
+  public long getSectionEnd() {
+    return sectionEnd;
+  }
+
+  /**
+   * Returns the copy counts of each chunk, in file order.
+   *
+   * @return titles and their copy counts for every chunk
+   */
+  public List<LinkedHashMap<Book, Integer>> getChunks() {
+    return chunks;
+  }
+
+  /**
+   * Parses the book section of the file.
+   *
+   * @return true if every book was parsed, false if the section has to be parsed
+   *         one line at a time to reproduce how init handles its errors
+   * @throws IOException if the file could not be mapped
+   */
+  public boolean load() throws IOException {
+    try {
+      return parse();
+    } catch (UncheckedIOException e) {
+      throw e.getCause(); // thrown by a task on the pool
+    }
+  }
+
+  private boolean parse() throws IOException {
+    // the first line holds the number of books
+    MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+        Math.min(size, Integer.MAX_VALUE));
+    long sectionStart = nextLine(head, 0);
+    CsvReader countLine = new CsvReader(new BufferChannel(head.slice(0, (int) sectionStart)));
+    if (!countLine.next()) {
+      return false;
+    }
+    bookCount = countLine.intField(0);
+    if (bookCount < 1 || countLine.fieldCount() != 1) {
+      return false;
+    }
+
+    sectionEnd = findSectionEnd(sectionStart);
+    if (sectionEnd < 0) {
+      return false;
+    }
+
+    // cut the section into chunks that start and end on line breaks
+    List<ChunkTask> tasks = new ArrayList<>();
+    long start = sectionStart;
+    while (start < sectionEnd) {
+      long end = start + chunkSize >= sectionEnd ? sectionEnd : lineAfter(start + chunkSize);
+      tasks.add(new ChunkTask(start, Math.min(end, sectionEnd)));
+      start = end;
+    }
+
+    chunks = new ArrayList<>(tasks.size());
+    int books = 0;
+    for (ChunkTask task : pool.invoke(new AllTasks<>(tasks))) {
+      LinkedHashMap<Book, Integer> chunk = task.getRawResult();
+      if (chunk == null) {
+        return false;
+      }
+      for (int copies : chunk.values()) {
+        books += copies;
+      }
+      chunks.add(chunk);
+    }
+    return books == bookCount;
+  }
+
+  /**
+   * Finds the end of the line holding the last book by counting line breaks in parallel.
+   *
+   * @param sectionStart offset of the first book
+   * @return offset after the last book or -1 if the file has fewer lines than books
+   * @throws IOException if the file could not be mapped
+   */
+  private long findSectionEnd(long sectionStart) throws IOException {
+    List<CountTask> counts = new ArrayList<>();
+    for (long start = sectionStart; start < size; start += chunkSize) {
+      counts.add(new CountTask(start, Math.min(size, start + chunkSize)));
+    }
+    long remaining = bookCount;
+    for (CountTask count : pool.invoke(new AllTasks<>(counts))) {
+      long lines = count.getRawResult();
+      if (lines >= remaining) {
+        MappedByteBuffer buffer = map(count.start, count.end);
+        int position = 0;
+        for (; remaining > 0; remaining--) {
+          position = nextLine(buffer, position);
+        }
+        return count.start + position;
+      }
+      remaining -= lines;
+    }
+    // the last book may not end in a line break
+    return remaining == 1 && size > sectionStart && lastByte() != '\n' ? size : -1;
+  }
+
+  /**
+   * Finds the start of the line after the given offset.
+   *
+   * @param offset offset inside a line
+   * @return offset of the next line or the end of the file
+   * @throws IOException if the file could not be mapped
+   */
+  private long lineAfter(long offset) throws IOException {
+    MappedByteBuffer buffer = map(offset, Math.min(size, offset + Integer.MAX_VALUE));
+    int position = nextLine(buffer, 0);
+    return offset + position;
+  }
+
+  private MappedByteBuffer map(long start, long end) throws IOException {
+    return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+  }
+
+  private byte lastByte() throws IOException {
+    return map(size - 1, size).get(0);
+  }
+
+  /**
+   * Finds the position after the next line break.
+   *
+   * @param buffer buffer to be searched
+   * @param from position to start at
+   * @return position after the line break or the buffer limit if there is none
+   */
+  private static int nextLine(ByteBuffer buffer, int from) {
+    int limit = buffer.limit();
+    while (from < limit && buffer.get(from) != '\n') {
+      from++;
+    }
+    return from < limit ? from + 1 : limit;
+  }
+
+  private static long chunkSize(long size, int parallelism) {
+    // a few chunks per worker so a slow chunk doesn't hold up the rest
+    long chunk = size / (parallelism * 4L);
+    return Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, chunk));
+  }
+
+  /**
+   * Counts the line breaks in one chunk of the file.
+   */
+  private class CountTask extends RecursiveTask<Long> {
+    private static final long serialVersionUID = 1L;
+
+    private final long start;
+    private final long end;
+
+    CountTask(long start, long end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected Long compute() {
+      try {
+        MappedByteBuffer buffer = map(start, end);
+        long lines = 0;
+        for (int i = 0; i < buffer.limit(); i++) {
+          if (buffer.get(i) == '\n') {
+            lines++;
+          }
+        }
+        return lines;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Parses the books in one line aligned chunk of the book section.
+   * Returns null if any line is not a valid book or has a due date that can't be read.
+   */
+  private class ChunkTask extends RecursiveTask<LinkedHashMap<Book, Integer>> {
+    private static final long serialVersionUID = 1L;
+
+    private final long start;
+    private final long end;
+
+    ChunkTask(long start, long end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected LinkedHashMap<Book, Integer> compute() {
+      LinkedHashMap<Book, Integer> copies = new LinkedHashMap<>();
+      StringPool strings = new StringPool();
+      Book previous = null;
+      try {
+        CsvReader csv = new CsvReader(new BufferChannel(map(start, end)));
+        while (csv.next()) {
+          int pageCount = csv.intField(Book.PAGE_COUNT_);
+          if (pageCount == CsvReader.NOT_A_NUMBER || csv.fieldCount() <= Book.DUE_DATE_) {
+            return null;
+          }
+          long epochDay = csv.epochDayField(Book.DUE_DATE_);
+          if (epochDay == DateParser.INVALID) {
+            return null; // init reports the bad date, in file order
+          }
+          LocalDate dueDate = DateParser.toDate(epochDay);
+          // copies of a title are usually on neighbouring lines and share one book
+          if (previous == null || previous.getPageCount() != pageCount
+              || !csv.fieldEquals(Book.ISBN_, previous.getIsbn())
+              || !csv.fieldEquals(Book.TITLE_, previous.getTitle())
+              || !csv.fieldEquals(Book.SUBJECT_, previous.getSubject())
+              || !csv.fieldEquals(Book.AUTHOR_, previous.getAuthor())) {
+            previous = new Book(csv.field(Book.ISBN_), csv.field(Book.TITLE_),
+                csv.field(Book.SUBJECT_, strings), pageCount,
+                csv.field(Book.AUTHOR_, strings), dueDate);
+          }
+          copies.merge(previous, 1, Integer::sum);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return copies;
+    }
+  }
+
+  /**
+   * Runs a list of tasks on the pool and waits for all of them.
+   */
+  private static class AllTasks<T extends ForkJoinTask<?>> extends RecursiveTask<List<T>> {
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> tasks;
+
+    AllTasks(List<T> tasks) {
+      this.tasks = tasks;
+    }
+
+    @Override
+    protected List<T> compute() {
+      ForkJoinTask.invokeAll(tasks);
+      return tasks;
+    }
+  }
+
+  /**
+   * Lets CsvReader read from a mapped buffer.
+   */
+  private static class BufferChannel implements ReadableByteChannel {
+    private final ByteBuffer source;
+
+    BufferChannel(ByteBuffer source) {
+      this.source = source;
+    }
+
+    @Override
+    public int read(ByteBuffer destination) {
+      if (!source.hasRemaining()) {
+        return -1;
+      }
+      int length = Math.min(source.remaining(), destination.remaining());
+      destination.put(source.slice(source.position(), length));
+      source.position(source.position() + length);
+      return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
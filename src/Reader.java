@@ -1,4 +1,4 @@
-import java.util.ArrayList;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 
@@ -22,51 +22,76 @@ public class Reader {
   private int cardNumber;
   private String name;
   private String phone;
-  private List<Book> books;
+  private LoanSet books;
 
   public Reader(int cardNumber, String name, String phone) {
     this.cardNumber = cardNumber;
     this.name = name;
     this.phone = phone;
-    this.books = new ArrayList<>();
+    this.books = new LoanSet();
   }
 
   /**
-   * Adds the book to the ArrayList books if not already present.
+   * Adds the book to the reader's loans if not already present, due back on the book's due date.
    * @param book the book to be added
    * @return SUCCESS if the book was added or return the corresponding error if not
    */
   public Code addBook(Book book) {
+    return addBook(book, book.getDueDate());
+  }
+
+  /**
+   * Adds the book to the reader's loans if not already present.
+   * @param book the book to be added
+   * @param dueDate date the book is due back
+   * @return SUCCESS if the book was added or return the corresponding error if not
+   */
+  public Code addBook(Book book, LocalDate dueDate) {
     if (hasBook(book)) {
       return Code.BOOK_ALREADY_CHECKED_OUT_ERROR;
     }
-    this.books.add(book);
+    this.books.add(new Loan(this, book, dueDate));
     return Code.SUCCESS;
   }
 
   /**
-   * Removes the book from the ArrayList books if not already present.
+   * Removes the book from the reader's loans if present.
    * @param book the book to be removed
    * @return SUCCESS if the book was removed or return the corresponding error if not
    */
   public Code removeBook(Book book) {
-    if (!hasBook(book)) {
+    if (this.books.removeLoan(book) == null) {
       return Code.READER_DOESNT_HAVE_BOOK_ERROR;
     }
-    if (this.books.remove(book)) {
-      this.books.remove(book);
-      return Code.SUCCESS;
-    }
-    return Code.READER_COULD_NOT_REMOVE_BOOK_ERROR;
+    return Code.SUCCESS;
   }
 
   /**
    * Checks if the Reader has a particular book.
    * @param book the book being checked for
-   * @return true if the book is in the ArrayList books, otherwise return false
+   * @return true if the book is on loan to the reader, otherwise return false
    */
   public boolean hasBook(Book book) {
-    return this.books.contains(book);
+    return this.books.indexOf(book) >= 0;
+  }
+
+  /**
+   * Returns the date the reader's loan of a book is due back.
+   * @param book the book on loan
+   * @return due date of the loan or null if the reader doesn't have the book
+   */
+  public LocalDate getDueDate(Book book) {
+    Loan loan = this.books.getLoan(book);
+    return loan == null ? null : loan.getDueDate();
+  }
+
+  /**
+   * Returns the reader's loan of a book.
+   * @param book the book on loan
+   * @return the loan or null if the reader doesn't have the book
+   */
+  public Loan getLoan(Book book) {
+    return this.books.getLoan(book);
   }
 
   public int getBookCount(){
@@ -97,12 +122,24 @@ public class Reader {
     this.phone = phone;
   }
 
+  /**
+   * Returns the books the reader has checked out, in the order they were lent.
+   * The list can't be changed; use addBook and removeBook instead.
+   * @return the reader's loans
+   */
   public List<Book> getBooks() {
     return this.books;
   }
 
+  /**
+   * Replaces the reader's loans, each due back on its book's due date.
+   * @param books the books on loan to the reader
+   */
   public void setBooks(List<Book> books) {
-    this.books = books;
+    this.books = new LoanSet();
+    for (Book book : books) {
+      addBook(book);
+    }
   }
 
   @Override
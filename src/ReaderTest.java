@@ -87,6 +87,16 @@ class ReaderTest {
     assertEquals(0, reader.getBookCount());
   }
 
+  @Test
+  void getDueDate() {
+    Book book = new Book("", "", "", 0, "", LocalDate.of(2020, 1, 1));
+    reader.addBook(book, LocalDate.of(2021, 2, 2));
+    book.setDueDate(LocalDate.of(2022, 3, 3));
+    assertEquals(LocalDate.of(2021, 2, 2), reader.getDueDate(book));
+    reader.removeBook(book);
+    assertNull(reader.getDueDate(book));
+  }
+
   @Test
   void getCardNumber() {
     assertEquals(cardNumber, reader.getCardNumber());
@@ -1,4 +1,7 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -18,11 +21,13 @@ public class Shelf {
   private int shelfNumber;
   private String subject;
   private HashMap<Book, Integer> books;
+  private EventSink events;
 
   public Shelf() {
     this.shelfNumber = 0;
     this.subject = "";
     this.books = new HashMap<>();
+    this.events = EventSink.CONSOLE;
   }
 
   public int getShelfNumber() {
@@ -49,6 +54,14 @@ public class Shelf {
     this.books = books;
   }
 
+  public EventSink getEventSink() {
+    return events;
+  }
+
+  public void setEventSink(EventSink events) {
+    this.events = events;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -87,11 +100,11 @@ public class Shelf {
   public Code addBook(Book book) {
     if (this.books.containsKey(book)) {
       this.books.replace(book, this.books.get(book) + 1);
-      System.out.println(book + " added to shelf " + this);
+      emit(LibraryEvent.SHELF_BOOK_ADDED, book);
       return Code.SUCCESS;
     } else if (this.subject.equals(book.getSubject())) {
       books.put(book, 1);
-      System.out.println(book + " added to shelf " + this);
+      emit(LibraryEvent.SHELF_BOOK_ADDED, book);
       return Code.SUCCESS;
     }
     return Code.SHELF_SUBJECT_MISMATCH_ERROR;
@@ -104,14 +117,14 @@ public class Shelf {
    */
   public Code removeBook(Book book) {
     if (!this.books.containsKey(book)) {
-      System.out.println(book.getTitle() + " is not on shelf " + this.subject);
+      emit(LibraryEvent.SHELF_BOOK_MISSING, book);
       return Code.BOOK_NOT_IN_INVENTORY_ERROR;
     } else if (this.books.get(book).equals(0)) {
-      System.out.println("No copies of " + book.getTitle() + " remain on shelf " + this.subject);
+      emit(LibraryEvent.SHELF_BOOK_EXHAUSTED, book);
       return Code.BOOK_NOT_IN_INVENTORY_ERROR;
     }
     this.books.replace(book, this.books.get(book) - 1);
-    System.out.println(book.getTitle() + " successfully removed from shelf " + this.subject);
+    emit(LibraryEvent.SHELF_BOOK_REMOVED, book);
     return Code.SUCCESS;
   }
 
@@ -120,15 +133,42 @@ public class Shelf {
    * @return a String of the shelf and all books on the shelf
    */
   public String listBooks() {
+    StringBuilder listing = new StringBuilder();
+    try {
+      listBooks(listing);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // a StringBuilder never throws
+    }
+    return listing.toString();
+  }
+
+  /**
+   * Writes the number of books and the shelf, then each of their listings one at a time
+   * @param out destination of the listing
+   * @throws IOException if the listing could not be written
+   */
+  public void listBooks(Appendable out) throws IOException {
+    Map<Book, Integer> books = getBooks();
     int totalBooks = 0;
-    StringBuilder bookListings = new StringBuilder();
-    for (Book book : books.keySet()) {
-      totalBooks += this.getBookCount(book);
-      bookListings.append(book).append(" ").append(this.getBookCount(book)).append("\n");
+    for (int count : books.values()) {
+      totalBooks += count;
     }
-    if (totalBooks == 1) { // not plural if one book
-      return totalBooks + " book on shelf: " + this + "\n" + bookListings;
+    String onShelf = totalBooks == 1 ? " book on shelf: " : " books on shelf: "; // not plural if one
+    out.append(String.valueOf(totalBooks)).append(onShelf).append(toString()).append("\n");
+    for (Map.Entry<Book, Integer> entry : books.entrySet()) {
+      out.append(entry.getKey().toString()).append(" ").append(String.valueOf(entry.getValue()))
+          .append("\n");
+    }
+  }
+
+  /**
+   * Sends an event about a book on this shelf to the shelf's sink if it wants events
+   * @param event what happened
+   * @param book book the event is about
+   */
+  protected void emit(LibraryEvent event, Book book) {
+    if (events.isEnabled()) {
+      events.accept(event, book, this);
     }
-    return totalBooks + " books on shelf: " + this + "\n" + bookListings;
   }
 }
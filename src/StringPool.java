@@ -0,0 +1,134 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Title: StringPool.java
+ * Abstract: Canonical copies of the strings met while loading a catalog, so text that
+ *           repeats from row to row, such as subjects and authors, is kept once however
+ *           many rows hold it. Strings can be looked up straight from the bytes of a CSV
+ *           field: a field already in the pool costs no String at all, and only a field
+ *           seen for the first time is decoded. Open addressing over parallel arrays keeps
+ *           the pool to two arrays whatever its size. Not safe for use by several threads.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://docs.oracle.com/javase/8/docs/api/java/lang/String.html#intern--
+ *             https://en.wikipedia.org/wiki/String_interning
+ */
+
+public class StringPool {
+
+  private static final int MIN_CAPACITY = 64;
+
+  private String[] strings; // pooled strings by slot, null if the slot is empty
+  private int[] hashes;     // String.hashCode of each pooled string
+  private int size;
+
+  public StringPool() {
+    this.strings = new String[MIN_CAPACITY];
+    this.hashes = new int[MIN_CAPACITY];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the pooled copy of a string, adding the string if it is new.
+   *
+   * @param string string to be looked up
+   * @return the pooled string equal to the given one
+   */
+  public String intern(String string) {
+    int hash = string.hashCode();
+    int mask = strings.length - 1;
+    for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+      String pooled = strings[slot];
+      if (pooled == null) {
+        return add(slot, hash, string);
+      }
+      if (hashes[slot] == hash && pooled.equals(string)) {
+        return pooled;
+      }
+    }
+  }
+
+  /**
+   * Returns the pooled string for UTF-8 bytes, decoding them only if they are new.
+   *
+   * @param bytes buffer holding the text
+   * @param from position of the first byte
+   * @param to position after the last byte
+   * @return the pooled string for the bytes
+   */
+  public String intern(byte[] bytes, int from, int to) {
+    // String.hashCode over the bytes, which is the same as over the chars for ASCII
+    int hash = 0;
+    for (int i = from; i < to; i++) {
+      if (bytes[i] < 0) { // not ASCII: decode and look up the String
+        return intern(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+      }
+      hash = 31 * hash + bytes[i];
+    }
+    int mask = strings.length - 1;
+    for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+      String pooled = strings[slot];
+      if (pooled == null) {
+        return add(slot, hash, new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+      }
+      if (hashes[slot] == hash && matches(pooled, bytes, from, to)) {
+        return pooled;
+      }
+    }
+  }
+
+  /**
+   * Empties the pool, keeping its capacity.
+   */
+  public void clear() {
+    Arrays.fill(strings, null);
+    size = 0;
+  }
+
+  private static boolean matches(String pooled, byte[] bytes, int from, int to) {
+    if (pooled.length() != to - from) {
+      return false;
+    }
+    for (int i = from; i < to; i++) {
+      if (pooled.charAt(i - from) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String add(int slot, int hash, String string) {
+    strings[slot] = string;
+    hashes[slot] = hash;
+    if (++size > strings.length / 2) {
+      grow();
+    }
+    return string;
+  }
+
+  private void grow() {
+    String[] oldStrings = strings;
+    int[] oldHashes = hashes;
+    strings = new String[oldStrings.length * 2];
+    hashes = new int[strings.length];
+    int mask = strings.length - 1;
+    for (int i = 0; i < oldStrings.length; i++) {
+      if (oldStrings[i] != null) {
+        int slot = spread(oldHashes[i]) & mask;
+        while (strings[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        strings[slot] = oldStrings[i];
+        hashes[slot] = oldHashes[i];
+      }
+    }
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,71 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: StringPoolTest.java
+ * Abstract: Tests the StringPool class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class StringPoolTest {
+
+  StringPool pool;
+
+  @BeforeEach
+  void setUp() {
+    pool = new StringPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool = null;
+  }
+
+  @Test
+  void intern() {
+    String subject = new String("sci-fi");
+    assertSame(subject, pool.intern(subject));
+    assertSame(subject, pool.intern(new String("sci-fi")));
+    assertEquals(1, pool.size());
+  }
+
+  @Test
+  void internBytes() {
+    byte[] bytes = "42,Douglas Adams,\u00c9ric Zola,Douglas Adams".getBytes(StandardCharsets.UTF_8);
+    String author = pool.intern(bytes, 3, 16);
+    assertEquals("Douglas Adams", author);
+    assertSame(author, pool.intern(bytes, bytes.length - 13, bytes.length));
+    assertSame(author, pool.intern("Douglas Adams"));
+
+    String accented = pool.intern(bytes, 17, 27); // the accented name takes 10 bytes
+    assertEquals("\u00c9ric Zola", accented);
+    assertSame(accented, pool.intern(new String("\u00c9ric Zola")));
+    assertEquals("", pool.intern(bytes, 0, 0));
+    assertEquals(3, pool.size());
+  }
+
+  @Test
+  void grow() {
+    for (int i = 0; i < 10_000; i++) {
+      pool.intern("author " + i);
+    }
+    assertEquals(10_000, pool.size());
+    for (int i = 0; i < 10_000; i++) {
+      byte[] bytes = ("author " + i).getBytes(StandardCharsets.UTF_8);
+      assertEquals("author " + i, pool.intern(bytes, 0, bytes.length));
+    }
+    assertEquals(10_000, pool.size());
+    pool.clear();
+    String fresh = new String("author 1");
+    assertNotSame(fresh, pool.intern("author 1".getBytes(StandardCharsets.UTF_8), 0, 8));
+    assertEquals(1, pool.size());
+  }
+}
@@ -0,0 +1,347 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Title: TitleIndex.java
+ * Abstract: Inverted index over the words of every title and author, for finding books by
+ *           what the front desk types: "dune", "herbert" or "hitchhik". Words are runs of
+ *           letters and digits, compared without case, and each word of a query matches
+ *           any word it is the start of. Words are kept in order, each with the titles
+ *           that hold it, so the words starting with a prefix are next to each other and
+ *           found with one search. Books score most for a whole word of their title, then
+ *           a whole word of their author, then the start of a word of each; a query of
+ *           several words only finds books matching all of them. A search goes through the
+ *           titles of its rarest word, best kinds of match first, and stops as soon as the
+ *           titles left could not beat those found, so it costs about the same however many
+ *           titles are kept.
+ *           Many threads can search at once; adding a title waits for them.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: https://en.wikipedia.org/wiki/Inverted_index
+ *             https://docs.oracle.com/javase/8/docs/api/java/util/NavigableMap.html
+ */
+
+public class TitleIndex {
+
+  public static final int TITLE_WORD = 8;
+  public static final int AUTHOR_WORD = 4;
+  public static final int TITLE_PREFIX = 2;
+  public static final int AUTHOR_PREFIX = 1;
+
+  private static final int COUNT_WORDS = 256; // words counted to find the rarest of a query
+
+  // kinds of match, best first
+  private static final int[] WEIGHTS = {TITLE_WORD, AUTHOR_WORD, TITLE_PREFIX, AUTHOR_PREFIX};
+
+  private final NavigableMap<String, Postings> titleWords;
+  private final NavigableMap<String, Postings> authorWords;
+  private final ReadWriteLock lock;
+  private Book[] books; // by id, in the order they were added
+  private int size;
+
+  public TitleIndex() {
+    this.titleWords = new TreeMap<>();
+    this.authorWords = new TreeMap<>();
+    this.lock = new ReentrantReadWriteLock();
+    this.books = new Book[16];
+  }
+
+  /**
+   * Returns the number of titles in the index.
+   *
+   * @return titles added so far
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of different words in the index.
+   *
+   * @return words of all titles plus words of all authors
+   */
+  public int wordCount() {
+    lock.readLock().lock();
+    try {
+      return titleWords.size() + authorWords.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Adds a title to the index. Each title should be added once.
+   *
+   * @param book title to be added
+   */
+  public void add(Book book) {
+    List<String> inTitle = tokenize(book.getTitle());
+    List<String> byAuthor = tokenize(book.getAuthor());
+    lock.writeLock().lock();
+    try {
+      if (size == books.length) {
+        books = Arrays.copyOf(books, size * 2);
+      }
+      int id = size++;
+      books[id] = book;
+      for (String word : inTitle) {
+        titleWords.computeIfAbsent(word, w -> new Postings()).add(id);
+      }
+      for (String word : byAuthor) {
+        authorWords.computeIfAbsent(word, w -> new Postings()).add(id);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes every title from the index.
+   */
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      titleWords.clear();
+      authorWords.clear();
+      books = new Book[16];
+      size = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the titles best matching a query, best first. Among titles matching equally
+   * well, those added earlier come first.
+   *
+   * @param query words to look for, each matching the start of a word
+   * @param limit most titles wanted
+   * @return titles matching every word of the query
+   */
+  public List<Book> search(String query, int limit) {
+    List<String> terms = tokenize(query);
+    if (terms.isEmpty() || limit <= 0) {
+      return Collections.emptyList();
+    }
+    lock.readLock().lock();
+    try {
+      return search(terms, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Splits text into lower case words of letters and digits, each word once.
+   *
+   * @param text text to be split
+   * @return words of the text in the order they first appear
+   */
+  static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>(4);
+    if (text == null) {
+      return tokens;
+    }
+    StringBuilder word = new StringBuilder();
+    for (int i = 0; i <= text.length(); i++) {
+      char c = i < text.length() ? text.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        word.append(Character.toLowerCase(c));
+      } else if (word.length() > 0) {
+        String token = word.toString();
+        if (!tokens.contains(token)) {
+          tokens.add(token);
+        }
+        word.setLength(0);
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * Goes through the titles matching the query word with the fewest titles, best kind of
+   * match first, scoring each on every word of the query and keeping the best. Stops as
+   * soon as no title left to look at could even tie the worst one kept, and skips the
+   * rest of a word's titles once they could only tie it, being added later, so common
+   * words cost no more than rare ones.
+   */
+  private List<Book> search(List<String> terms, int limit) {
+    Term[] query = new Term[terms.size()];
+    Term rarest = null;
+    int bestPossible = 0;
+    for (int i = 0; i < query.length; i++) {
+      query[i] = new Term(terms.get(i));
+      if (query[i].bestScore == 0) {
+        return Collections.emptyList(); // a word nothing starts with
+      }
+      bestPossible += query[i].bestScore;
+      if (rarest == null || query[i].count(rarest.count(Long.MAX_VALUE)) < rarest.count) {
+        rarest = query[i];
+      }
+    }
+
+    // lowest score at the head, so the worst match kept is the one pushed out
+    PriorityQueue<long[]> best = new PriorityQueue<>(Math.min(limit, 1024) + 1,
+        (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(b[1], a[1]));
+    Set<Integer> seen = new HashSet<>();
+    int others = bestPossible - rarest.bestScore;
+    for (int kind = 0; kind < WEIGHTS.length; kind++) {
+      int bound = WEIGHTS[kind] + others; // most any title left can score
+      for (Postings postings : rarest.postings(kind)) {
+        for (int i = 0; i < postings.size; i++) {
+          int id = postings.ids[i];
+          if (best.size() == limit) {
+            long[] worst = best.peek();
+            if (worst[0] > bound) {
+              return sorted(best);
+            }
+            if (worst[0] == bound && id > worst[1]) {
+              break; // ids only grow, so the rest of this word can at best tie and rank lower
+            }
+          }
+          if (seen.add(id)) {
+            int score = score(books[id], terms);
+            if (score > 0) {
+              best.add(new long[] {score, id});
+              if (best.size() > limit) {
+                best.poll();
+              }
+            }
+          }
+        }
+      }
+    }
+    return sorted(best);
+  }
+
+  private List<Book> sorted(PriorityQueue<long[]> best) {
+    Book[] found = new Book[best.size()];
+    for (int i = found.length - 1; i >= 0; i--) {
+      found[i] = books[(int) best.poll()[1]];
+    }
+    return Arrays.asList(found);
+  }
+
+  /**
+   * Scores a title on every word of a query.
+   *
+   * @return the sum of the best match of each word, or 0 if a word doesn't match
+   */
+  private static int score(Book book, List<String> terms) {
+    List<String> inTitle = tokenize(book.getTitle());
+    List<String> byAuthor = tokenize(book.getAuthor());
+    int total = 0;
+    for (String term : terms) {
+      int score = Math.max(score(inTitle, term, TITLE_WORD, TITLE_PREFIX),
+          score(byAuthor, term, AUTHOR_WORD, AUTHOR_PREFIX));
+      if (score == 0) {
+        return 0;
+      }
+      total += score;
+    }
+    return total;
+  }
+
+  private static int score(List<String> words, String term, int whole, int prefix) {
+    int score = 0;
+    for (String word : words) {
+      if (word.equals(term)) {
+        return whole;
+      }
+      if (word.startsWith(term)) {
+        score = prefix;
+      }
+    }
+    return score;
+  }
+
+  /**
+   * A word of a query and the four kinds of match it has in the index, best first:
+   * whole title words, whole author words, then title and author words it starts.
+   */
+  private class Term {
+    private final Postings titleWord;
+    private final Postings authorWord;
+    private final NavigableMap<String, Postings> titlePrefixed;
+    private final NavigableMap<String, Postings> authorPrefixed;
+    private final int bestScore;    // score of the best kind of match the word has
+    private long count = -1;        // titles matching, counted up to a limit
+
+    Term(String term) {
+      String end = term + Character.MAX_VALUE;
+      this.titleWord = titleWords.get(term);
+      this.authorWord = authorWords.get(term);
+      this.titlePrefixed = titleWords.subMap(term, false, end, false);
+      this.authorPrefixed = authorWords.subMap(term, false, end, false);
+      this.bestScore = titleWord != null ? TITLE_WORD : authorWord != null ? AUTHOR_WORD
+          : !titlePrefixed.isEmpty() ? TITLE_PREFIX : !authorPrefixed.isEmpty() ? AUTHOR_PREFIX : 0;
+    }
+
+    /**
+     * Counts the titles matching the word, stopping once there are at least as many
+     * as another word has. A short word starts a great many others, so only the first
+     * words it starts are counted.
+     */
+    long count(long atMost) {
+      if (count < 0) {
+        long total = 0;
+        int counted = 0;
+        for (int kind = 0; kind < WEIGHTS.length && total < atMost && counted < COUNT_WORDS;
+            kind++) {
+          for (Postings postings : postings(kind)) {
+            total += postings.size;
+            if (total >= atMost || ++counted >= COUNT_WORDS) {
+              break;
+            }
+          }
+        }
+        count = total;
+      }
+      return count;
+    }
+
+    Iterable<Postings> postings(int kind) {
+      switch (kind) {
+        case 0:
+          return titleWord == null ? Collections.emptyList()
+              : Collections.singletonList(titleWord);
+        case 1:
+          return authorWord == null ? Collections.emptyList()
+              : Collections.singletonList(authorWord);
+        case 2:
+          return titlePrefixed.values();
+        default:
+          return authorPrefixed.values();
+      }
+    }
+  }
+
+  /**
+   * Titles holding a word, as ids in the order they were added.
+   */
+  private static class Postings {
+    private int[] ids = new int[1];
+    private int size;
+
+    void add(int id) {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      ids[size++] = id;
+    }
+  }
+}
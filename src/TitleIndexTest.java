@@ -0,0 +1,117 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Title: TitleIndexTest.java
+ * Abstract: Tests the TitleIndex class.
+ * Author: Arielle Lauper
+ * Date: 18 - Oct - 2026
+ * References: Class materials
+ */
+
+class TitleIndexTest {
+
+  TitleIndex index;
+  Book dune;
+  Book duneMessiah;
+  Book hitchhikers;
+  Book herbertBio;
+  Book java;
+
+  @BeforeEach
+  void setUp() {
+    index = new TitleIndex();
+    dune = new Book("34-w-34", "Dune", "sci-fi", 235, "Frank Herbert", null);
+    duneMessiah = new Book("34-w-35", "Dune Messiah", "sci-fi", 256, "Frank Herbert", null);
+    hitchhikers = new Book("42-w-87", "Hitchhikers Guide To the Galaxy", "sci-fi", 42,
+        "Douglas Adams", null);
+    herbertBio = new Book("99", "Herbertson's Dunes", "biography", 300, "A. Writer", null);
+    java = new Book("1337", "Headfirst Java", "education", 1337, "Grady Booch", null);
+    for (Book book : List.of(dune, duneMessiah, hitchhikers, herbertBio, java)) {
+      index.add(book);
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    index = null;
+  }
+
+  @Test
+  void tokenize() {
+    assertEquals(List.of("hitchhikers", "guide", "to", "the", "galaxy"),
+        TitleIndex.tokenize("Hitchhikers Guide To the Galaxy"));
+    assertEquals(List.of("herbertson", "s", "dunes"),
+        TitleIndex.tokenize("Herbertson's Dunes, dunes"));
+    assertTrue(TitleIndex.tokenize(" ,. ").isEmpty());
+  }
+
+  @Test
+  void searchWord() {
+    assertEquals(List.of(dune, duneMessiah, herbertBio), index.search("dune", 10));
+    assertEquals(List.of(dune, duneMessiah, herbertBio), index.search("DUNE", 10));
+    assertEquals(List.of(hitchhikers), index.search("hitchhik", 10));
+    // a whole author word beats the start of a title word
+    assertEquals(List.of(dune, duneMessiah, herbertBio), index.search("herbert", 10));
+    assertEquals(List.of(dune), index.search("dune", 1));
+    assertTrue(index.search("nothing", 10).isEmpty());
+    assertTrue(index.search("", 10).isEmpty());
+  }
+
+  @Test
+  void searchAll() {
+    assertEquals(List.of(duneMessiah), index.search("dune mess", 10));
+    assertEquals(List.of(dune, duneMessiah, herbertBio), index.search("herbert dune", 10));
+    assertEquals(List.of(dune, duneMessiah), index.search("frank dune", 10));
+    assertEquals(List.of(dune), index.search("herbert dune", 1));
+    assertTrue(index.search("dune java", 10).isEmpty());
+  }
+
+  @Test
+  void searchMany() {
+    // the best matches are found however many weaker ones come before them
+    for (int i = 0; i < 1000; i++) {
+      index.add(new Book("d" + i, "Dune " + i, "sci-fi", 100, "Herbertson", null));
+    }
+    Book last = new Book("d", "Dune", "sci-fi", 100, "Herbert", null);
+    index.add(last);
+    assertEquals(List.of(dune, duneMessiah, last), index.search("herbert dune", 3));
+    assertEquals(3, index.search("dune herb", 3).size());
+    assertEquals(List.of(dune, duneMessiah), index.search("frank dune", 10));
+  }
+
+  @Test
+  void searchTies() {
+    // more equal matches than the limit: the earliest added win, whichever word matched
+    TitleIndex ties = new TitleIndex();
+    Book dunes = new Book("1", "Dunes", "sci-fi", 100, "A", null);
+    Book first = new Book("2", "Dune", "sci-fi", 100, "B", null);
+    Book second = new Book("3", "Dune", "sci-fi", 100, "C", null);
+    for (Book book : List.of(dunes, first, second)) {
+      ties.add(book);
+    }
+    assertEquals(List.of(dunes, first), ties.search("dun", 2));
+    assertEquals(List.of(dunes), ties.search("dun", 1));
+    assertEquals(List.of(dunes, first, second), ties.search("dun", 5));
+  }
+
+  @Test
+  void clear() {
+    index.clear();
+    assertEquals(0, index.size());
+    assertTrue(index.search("dune", 10).isEmpty());
+    index.add(dune);
+    assertEquals(List.of(dune), index.search("dune", 10));
+  }
+
+  @Test
+  void size() {
+    assertEquals(5, index.size());
+    assertTrue(index.wordCount() > 10);
+  }
+}